@@ -0,0 +1,145 @@
+package ru.practicum.shareit.accesslog;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Журнал доступа шлюза: строка JSON на запрос в асинхронный logger "access" (см. logback-spring.xml).
+ * Шлюз первым видит запрос клиента, поэтому только его журнал хранит тело запроса: для ошибок всегда,
+ * для отобранной доли успешных - при log-bodies. Ошибки и медленные запросы пишутся всегда.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "shareit-gateway.access-log", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+    private static final Logger ACCESS = LoggerFactory.getLogger("access");
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final double sampleRate;
+    private final Map<String, Double> routes;
+    private final int errorStatus;
+    private final long slowThresholdNanos;
+    private final boolean logBodies;
+    private final int maxBodySize;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.sampleRate = properties.getSampleRate();
+        this.routes = Map.copyOf(properties.getRoutes());
+        this.errorStatus = properties.getErrorStatus();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.logBodies = properties.isLogBodies();
+        this.maxBodySize = (int) properties.getMaxBodySize().toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!ACCESS.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        // Тело копируется по мере чтения контроллером и не больше max-body-size
+        HttpServletRequest logged = hasBody(request) ? new ContentCachingRequestWrapper(request, maxBodySize) : request;
+        boolean failed = true;
+        try {
+            chain.doFilter(logged, response);
+            failed = false;
+        } finally {
+            long duration = System.nanoTime() - start;
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            String route = route(request);
+            String reason = reason(route, status, duration);
+            if (reason != null) {
+                String body = "sampled".equals(reason) && !logBodies ? null : body(logged);
+                ACCESS.info(entry(request, route, status, duration, reason, body));
+            }
+        }
+    }
+
+    private String reason(String route, int status, long durationNanos) {
+        if (status >= errorStatus) {
+            return "error";
+        }
+        if (durationNanos >= slowThresholdNanos) {
+            return "slow";
+        }
+        double rate = routes.getOrDefault(route, sampleRate);
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate ? "sampled" : null;
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMATCHED_ROUTE : pattern.toString();
+    }
+
+    private static boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+    }
+
+    private static String body(HttpServletRequest request) {
+        if (request instanceof ContentCachingRequestWrapper wrapper && wrapper.getContentAsByteArray().length > 0) {
+            return new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    private static String entry(HttpServletRequest request, String route, int status, long durationNanos,
+                                String reason, String body) {
+        StringBuilder json = new StringBuilder(160);
+        json.append("{\"method\":\"").append(request.getMethod()).append('"');
+        field(json, "route", route);
+        field(json, "path", request.getRequestURI());
+        json.append(",\"status\":").append(status);
+        json.append(",\"durationMs\":").append(TimeUnit.NANOSECONDS.toMicros(durationNanos) / 1000.0);
+        field(json, "userId", request.getHeader(USER_HEADER));
+        field(json, "reason", reason);
+        field(json, "body", body);
+        return json.append('}').toString();
+    }
+
+    private static void field(StringBuilder json, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        json.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.accesslog;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.access-log")
+public class AccessLogProperties {
+    private boolean enabled = true;
+    // Доля успешных быстрых запросов, попадающих в журнал
+    private double sampleRate = 0.1;
+    // Доля по шаблону маршрута контроллера (/items/{itemId}), перекрывает sample-rate
+    private Map<String, Double> routes = new HashMap<>();
+    // Запросы с этим статусом и выше пишутся всегда, вместе с телом запроса
+    private int errorStatus = 400;
+    // Запросы дольше порога пишутся всегда
+    private Duration slowThreshold = Duration.ofSeconds(1);
+    // Писать тело запроса и для отобранных успешных запросов
+    private boolean logBodies = false;
+    private DataSize maxBodySize = DataSize.ofKilobytes(2);
+}
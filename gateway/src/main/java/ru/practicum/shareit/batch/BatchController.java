@@ -0,0 +1,34 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@Validated
+@RequiredArgsConstructor
+@RequestMapping(path = "/batch")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    @PostMapping
+    public List<BatchResultDto> execute(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
+                                        @Valid @RequestBody BatchRequestDto batchDto) {
+        log.debug("==> Gateway: Executing batch of {} requests", batchDto.getRequests().size());
+        List<BatchResultDto> results = batchService.execute(userId, batchDto.getRequests());
+        log.debug("<== Gateway: Executing batch of {} requests", results.size());
+        return results;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.batch")
+public class BatchProperties {
+    // Сколько подзапросов одного пакета выполняется одновременно
+    private int parallelism = 8;
+    // Потоки пула подзапросов, общего для всех пакетов
+    private int threads = 32;
+    // Очередь пула; при переполнении оставшиеся подзапросы пакета выполняет поток самого запроса
+    private int queueCapacity = 64;
+}
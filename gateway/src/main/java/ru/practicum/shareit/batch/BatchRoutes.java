@@ -0,0 +1,133 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET-маршруты шлюза, доступные в пакетном запросе, и их отображение на методы *Client.
+ * Проверки те же, что у контроллеров: обязательный X-Sharer-User-Id, числовые идентификаторы.
+ */
+@Component
+public class BatchRoutes {
+    private final List<Route> routes = new ArrayList<>();
+
+    public BatchRoutes(UserClient userClient, ItemClient itemClient, BookingClient bookingClient,
+                       ItemRequestClient itemRequestClient) {
+        route("/users", call -> userClient.findAll());
+        route("/users/{id}", call -> userClient.getUserById(call.id("id")));
+        route("/items", call -> itemClient.getAllItemsForUser(call.userId()));
+        route("/items/search", call -> itemClient.searchItems(call.requiredParam("text"), call.positiveParam("limit"),
+                call.param("cursor", null), call.booleanParam("ranked")));
+        route("/items/{itemId}", call -> itemClient.getItemById(call.userId(), call.id("itemId")));
+        route("/bookings", call -> bookingClient.getBookings(call.userId(), call.param("state", "ALL")));
+        route("/bookings/owner", call -> bookingClient.getOwnerBookings(call.userId(), call.param("state", "ALL")));
+        route("/bookings/{bookingId}", call -> bookingClient.getBookingById(call.userId(), call.id("bookingId")));
+        route("/requests", call -> itemRequestClient.getUserRequests(call.userId()));
+        route("/requests/{requestId}", call -> itemRequestClient.getRequestById(call.id("requestId")));
+    }
+
+    /**
+     * Выполняет GET-запрос по пути шлюза.
+     *
+     * @throws ResponseStatusException если маршрут неизвестен или параметры некорректны
+     */
+    public ResponseEntity<Object> execute(Long userId, String path) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(path).build();
+        PathContainer pathContainer = PathContainer.parsePath(uri.getPath() == null ? "" : uri.getPath());
+        for (Route route : routes) {
+            PathPattern.PathMatchInfo match = route.pattern().matchAndExtract(pathContainer);
+            if (match != null) {
+                return route.handler().handle(new Call(userId, match.getUriVariables(), uri.getQueryParams()));
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No batch route for " + uri.getPath());
+    }
+
+    private void route(String pattern, Handler handler) {
+        routes.add(new Route(PathPatternParser.defaultInstance.parse(pattern), handler));
+    }
+
+    private record Route(PathPattern pattern, Handler handler) {
+    }
+
+    private interface Handler {
+        ResponseEntity<Object> handle(Call call);
+    }
+
+    private record Call(Long optionalUserId, Map<String, String> variables, MultiValueMap<String, String> params) {
+        Long userId() {
+            if (optionalUserId == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Header X-Sharer-User-Id is required");
+            }
+            return optionalUserId;
+        }
+
+        Long id(String name) {
+            try {
+                return Long.parseLong(variables.get(name));
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name);
+            }
+        }
+
+        String param(String name, String defaultValue) {
+            String value = params.getFirst(name);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                // Параметры строки запроса кодируются как в формах: + означает пробел
+                return URLDecoder.decode(value, StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid encoding of " + name);
+            }
+        }
+
+        Integer positiveParam(String name) {
+            String value = param(name, null);
+            if (value == null) {
+                return null;
+            }
+            try {
+                int number = Integer.parseInt(value);
+                if (number > 0) {
+                    return number;
+                }
+            } catch (NumberFormatException e) {
+                // ниже тот же ответ, что и для неположительного числа
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name);
+        }
+
+        Boolean booleanParam(String name) {
+            String value = param(name, null);
+            return value == null ? null : Boolean.valueOf(value);
+        }
+
+        String requiredParam(String name) {
+            String value = param(name, null);
+            if (value == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parameter " + name + " is required");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+import ru.practicum.shareit.batch.dto.BatchSubRequestDto;
+import ru.practicum.shareit.client.JsonBody;
+import ru.practicum.shareit.error.ErrorResponse;
+import ru.practicum.shareit.ratelimit.UserRateLimiter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Выполняет подзапросы пакета параллельно, не больше parallelism одновременно.
+ * Ошибка одного подзапроса не прерывает остальные и возвращается в его результате.
+ * Каждый подзапрос пользователя тратит токен его бюджета чтения, как отдельный GET;
+ * подзапрос, на который токена не хватило, получает 429.
+ * Подзапросы всех пакетов выполняет свой ограниченный пул (threads потоков, очередь queue-capacity),
+ * а не общий пул задач: при его заполнении подзапросы пакета выполняет поток самого запроса.
+ */
+@Slf4j
+@Service
+public class BatchService implements DisposableBean {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final BatchRoutes routes;
+    // null, если ограничение частоты выключено
+    private final UserRateLimiter rateLimiter;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final int parallelism;
+
+    @Autowired
+    public BatchService(BatchRoutes routes, ObjectProvider<UserRateLimiter> rateLimiter, ObjectMapper objectMapper,
+                        BatchProperties properties,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(routes, rateLimiter.getIfAvailable(), executor(properties, virtualThreads), objectMapper, properties);
+    }
+
+    BatchService(BatchRoutes routes, UserRateLimiter rateLimiter, ExecutorService executor,
+                 ObjectMapper objectMapper, BatchProperties properties) {
+        this.routes = routes;
+        this.rateLimiter = rateLimiter;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.parallelism = Math.max(1, properties.getParallelism());
+    }
+
+    public List<BatchResultDto> execute(Long userId, List<BatchSubRequestDto> requests) {
+        BatchResultDto[] results = new BatchResultDto[requests.size()];
+        AtomicInteger next = new AtomicInteger();
+        // Каждый исполнитель забирает следующий невыполненный подзапрос, поэтому их число и есть предел параллелизма
+        Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < results.length) {
+                results[index] = execute(userId, requests.get(index));
+            }
+        };
+
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int i = 1; i < Math.min(parallelism, results.length); i++) {
+            try {
+                workers.add(CompletableFuture.runAsync(worker, executor));
+            } catch (RejectedExecutionException e) {
+                // Оставшиеся подзапросы выполнит текущий поток
+                break;
+            }
+        }
+        worker.run();
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static ExecutorService executor(BatchProperties properties, boolean virtualThreads) {
+        // На виртуальных потоках пул по-прежнему ограничивает число подзапросов,
+        // но ожидание ответа сервера не занимает платформенный поток
+        ThreadFactory threads = virtualThreads
+                ? Thread.ofVirtual().name("gateway-batch-", 0).factory()
+                : Thread.ofPlatform().name("gateway-batch-", 0).daemon().factory();
+        return new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), threads);
+    }
+
+    private BatchResultDto execute(Long userId, BatchSubRequestDto request) {
+        if (rateLimiter != null && userId != null) {
+            long retryAfterMillis = rateLimiter.tryAcquire(userId, UserRateLimiter.READ);
+            if (retryAfterMillis != UserRateLimiter.ALLOWED) {
+                return error(request, HttpStatus.TOO_MANY_REQUESTS,
+                        UserRateLimiter.message(UserRateLimiter.READ, retryAfterMillis));
+            }
+        }
+        try {
+            ResponseEntity<Object> response = routes.execute(userId, request.getPath());
+            return new BatchResultDto(request.getId(), response.getStatusCode().value(),
+                    JsonBody.of(objectMapper, response.getBody()),
+                    response.getHeaders().getFirst(NEXT_CURSOR_HEADER));
+        } catch (ResponseStatusException e) {
+            return error(request, e.getStatusCode(), e.getReason());
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            return error(request, HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Batch sub-request {} failed", request.getPath(), e);
+            return error(request, HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    private BatchResultDto error(BatchSubRequestDto request, HttpStatusCode status, String message) {
+        return new BatchResultDto(request.getId(), status.value(), objectMapper.valueToTree(new ErrorResponse(message)),
+                null);
+    }
+}
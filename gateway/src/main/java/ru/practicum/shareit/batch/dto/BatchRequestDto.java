@@ -0,0 +1,18 @@
+package ru.practicum.shareit.batch.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchRequestDto {
+    public static final int MAX_REQUESTS = 20;
+
+    @NotEmpty(message = "Список запросов не должен быть пустым")
+    @Size(max = MAX_REQUESTS, message = "Не больше " + MAX_REQUESTS + " запросов в пакете")
+    private List<@NotNull(message = "Запрос пакета не должен быть null") @Valid BatchSubRequestDto> requests;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDto {
+    private String id;
+    private int status;
+    // Ответ сервера; тело не в формате JSON передаётся строкой
+    private JsonNode body;
+    // Заголовок X-Next-Cursor ответа (поиск вещей), если он есть
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.batch.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSubRequestDto {
+    // Идентификатор, по которому клиент сопоставляет результат с запросом
+    @Size(max = 64)
+    private String id;
+    // Путь GET-запроса к шлюзу вместе с параметрами, например /bookings/owner?state=ALL
+    @NotBlank(message = "Путь обязателен")
+    @Pattern(regexp = "/.*", message = "Путь должен начинаться с /")
+    @Size(max = 2048)
+    private String path;
+}
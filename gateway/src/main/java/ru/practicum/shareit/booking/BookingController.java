@@ -33,9 +33,9 @@ public class BookingController {
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @Valid @RequestBody BookingRequestDto bookingDto) {
-        log.info("==> Gateway: Creating booking: {}", bookingDto);
+        log.debug("==> Gateway: Creating booking: {}", bookingDto);
         ResponseEntity<Object> response = bookingClient.create(userId, bookingDto);
-        log.info("<== Gateway: Creating booking: {}", response.getBody());
+        log.debug("<== Gateway: Creating booking: {}", response.getStatusCode());
         return response;
     }
 
@@ -49,9 +49,9 @@ public class BookingController {
     public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @PathVariable("bookingId") Long bookingId,
                                          @RequestParam boolean approved) {
-        log.info("==> Gateway: Updating booking c id = {} with approval: {}", bookingId, approved);
+        log.debug("==> Gateway: Updating booking c id = {} with approval: {}", bookingId, approved);
         ResponseEntity<Object> response = bookingClient.update(userId, bookingId, approved);
-        log.info("<== Gateway: Updating booking: {}", response.getBody());
+        log.debug("<== Gateway: Updating booking: {}", response.getStatusCode());
         return response;
     }
 
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.client;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
@@ -13,10 +14,22 @@ import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.LOCATION,
+            // Позиция следующей страницы поиска вещей и признак усечённого ранжированного поиска
+            "X-Next-Cursor",
+            "X-Search-Truncated");
+
     protected final RestTemplate rest;
+    private final ServerCallMetrics metrics;
+    private final String clientName;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, ServerCallMetrics metrics) {
         this.rest = rest;
+        this.metrics = metrics;
+        this.clientName = getClass().getSimpleName();
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -84,21 +97,37 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        // Проверенное тело пересылается исходными байтами, без повторной сериализации DTO
+        Object payload = RawRequestBody.of(body).<Object>map(bytes -> bytes).orElse(body);
+        HttpEntity<Object> requestEntity = new HttpEntity<>(payload, defaultHeaders(userId));
+
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
 
-        ResponseEntity<Object> shareitServerResponse;
+        // Тело ответа сервера не разбирается, а передаётся клиенту как есть
+        ResponseEntity<byte[]> shareitServerResponse;
+        long start = System.nanoTime();
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            shareitServerResponse = rest.exchange(uri, method, requestEntity, byte[].class);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            record(method, uri, String.valueOf(e.getStatusCode().value()), ServerCallMetrics.NONE, start);
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(forwardedHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        } catch (RuntimeException e) {
+            record(method, uri, ServerCallMetrics.CLIENT_ERROR, e.getClass().getSimpleName(), start);
+            throw e;
         }
+        record(method, uri, String.valueOf(shareitServerResponse.getStatusCode().value()), ServerCallMetrics.NONE,
+                start);
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private void record(HttpMethod method, URI uri, String status, String exception, long start) {
+        metrics.record(clientName, method, uri, status, exception, System.nanoTime() - start);
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -109,12 +138,9 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(forwardedHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -122,4 +148,18 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    private static HttpHeaders forwardedHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders == null) {
+            return headers;
+        }
+        for (String name : FORWARDED_HEADERS) {
+            List<String> values = serverHeaders.get(name);
+            if (values != null) {
+                headers.addAll(name, values);
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Порядок перехватчиков запросов к серверу: меньшее значение выполняется раньше (снаружи).
+ */
+public final class InterceptorOrder {
+    // Отказ по неизвестному пользователю раньше всех: такой запрос не должен занимать кэш и лимиты
+    public static final int KNOWN_USERS = 100;
+    public static final int RESPONSE_CACHE = 200;
+    public static final int REQUEST_COALESCING = 300;
+    public static final int DEADLINE = 400;
+    // Перед circuit breaker'ом: отказы по пределу не должны считаться ошибками маршрута
+    public static final int CONCURRENCY_LIMIT = 450;
+    // После предела маршрута: за общие места соревнуются уже допущенные маршрутом запросы,
+    // а ожидание в этой очереди предел маршрута вычитает из времени ответа (PriorityWait)
+    public static final int PRIORITY = 460;
+    public static final int ROUTE_RESILIENCE = 500;
+    public static final int BINARY_PROTOCOL = 700;
+    // Должен быть последним: сам отправляет попытки через фабрику запросов
+    public static final int HEDGING = 800;
+
+    private InterceptorOrder() {
+    }
+}
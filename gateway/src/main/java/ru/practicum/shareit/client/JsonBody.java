@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Тело ответа сервера для вложения в составной ответ шлюза (batch, overview).
+ */
+public final class JsonBody {
+
+    private JsonBody() {
+    }
+
+    /**
+     * Разобранный JSON, строка - если тело не JSON (например, текст или HTML-страница 502), null - если тела нет.
+     */
+    public static JsonNode of(ObjectMapper objectMapper, Object body) {
+        if (!(body instanceof byte[] bytes) || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            return TextNode.valueOf(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+}
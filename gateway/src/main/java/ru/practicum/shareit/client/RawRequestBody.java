@@ -0,0 +1,35 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Исходные байты тела входящего запроса вместе с DTO, который Jackson из них построил.
+ * Байты отдаются только для того же экземпляра DTO, поэтому изменённый или созданный
+ * вручную объект всегда сериализуется заново.
+ */
+public record RawRequestBody(Object source, byte[] bytes) {
+    static final String ATTRIBUTE = RawRequestBody.class.getName();
+
+    static void bind(Object source, byte[] bytes) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, new RawRequestBody(source, bytes), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public static Optional<byte[]> of(@Nullable Object body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (body == null || attributes == null) {
+            return Optional.empty();
+        }
+        Object captured = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (captured instanceof RawRequestBody raw && raw.source() == body) {
+            return Optional.of(raw.bytes());
+        }
+        return Optional.empty();
+    }
+}
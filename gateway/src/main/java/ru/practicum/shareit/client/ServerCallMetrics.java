@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время вызовов сервера из {@link BaseClient}: таймер gateway.server.calls с тегами клиента, метода,
+ * шаблона маршрута, статуса и исключения. Вместе с http.server.requests даёт накладные расходы шлюза:
+ * время входящего запроса минус время вызовов сервера.
+ */
+@Component
+public class ServerCallMetrics {
+    public static final String NONE = "none";
+    // Статус, когда ответа сервера нет: отказ соединения, таймаут, открытый circuit breaker
+    public static final String CLIENT_ERROR = "CLIENT_ERROR";
+
+    private final MeterRegistry meterRegistry;
+    private final ServerRoutes routes;
+
+    public ServerCallMetrics(MeterRegistry meterRegistry, ServerRoutes routes) {
+        this.meterRegistry = meterRegistry;
+        this.routes = routes;
+    }
+
+    public void record(String client, HttpMethod method, URI uri, String status, String exception, long nanos) {
+        Timer.builder("gateway.server.calls")
+                .tag("client", client)
+                .tag("method", method.name())
+                .tag("route", routes.route(uri))
+                .tag("status", status)
+                .tag("exception", exception)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ServerClientProperties {
+    // Общий лимит соединений пула и лимит на один маршрут (хост сервера)
+    private int maxConnections = 200;
+    private int maxConnectionsPerRoute = 100;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    // Ожидание свободного соединения в пуле
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    // Таймаут чтения из сокета и ожидания ответа сервера
+    private Duration socketTimeout = Duration.ofSeconds(10);
+    private Duration responseTimeout = Duration.ofSeconds(10);
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration evictIdleAfter = Duration.ofSeconds(30);
+    // Сжатые ответы сервера: меньше байтов в сети ценой распаковки на шлюзе
+    private boolean compression = true;
+}
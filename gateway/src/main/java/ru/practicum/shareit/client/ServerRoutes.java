@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+/**
+ * Приводит URI запроса к серверу к шаблону маршрута: {@code /items/42?text=a} -> {@code /items/{id}}.
+ * Шаблоны используются как ключи настроек и метрик по маршрутам.
+ */
+@Component
+public class ServerRoutes {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final String basePath;
+
+    public ServerRoutes(@Value("${shareit-server.url}") String serverUrl) {
+        String path = UriComponentsBuilder.fromUriString(serverUrl).build().getPath();
+        this.basePath = path == null || "/".equals(path) ? "" : path.replaceAll("/+$", "");
+    }
+
+    public String route(URI uri) {
+        String path = ID_SEGMENT.matcher(path(uri)).replaceAll("/{id}");
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path.isEmpty() ? "/" : path;
+    }
+
+    /**
+     * Путь запроса без базового пути сервера: {@code /items/42}.
+     */
+    public String path(URI uri) {
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        return path.startsWith(basePath) ? path.substring(basePath.length()) : path;
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.client.balancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoadBalancerConfig {
+
+    @Bean
+    public ServerBalancer serverBalancer(LoadBalancerProperties properties, MeterRegistry meterRegistry) {
+        return new ServerBalancer(properties, System::nanoTime, meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.client.balancer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.balancer")
+public class LoadBalancerProperties {
+    // Экземпляры сервера (схема, хост и порт). Пусто - запросы идут на shareit-server.url без балансировки
+    private List<URI> instances = new ArrayList<>();
+    // Сколько ошибок подряд (сбой соединения, 502, 503; таймауты не считаются) исключают экземпляр из балансировки
+    private int consecutiveErrors = 5;
+    // Время исключения; растёт с каждым повторным исключением до max-ejection-time
+    private Duration ejectionTime = Duration.ofSeconds(30);
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+    // Вернувшийся экземпляр получает долю нагрузки, растущую от 10% до 100% за это время
+    private Duration slowStart = Duration.ofSeconds(30);
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+    private String healthPath = "/actuator/health";
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.client.balancer;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Отправляет каждый запрос на экземпляр сервера, выбранный {@link ServerBalancer}: в URI заменяются
+ * схема, хост и порт. Запрос считается в работе до закрытия ответа. Выбор делается на каждую попытку,
+ * поэтому дубли и повторы запроса уходят на наименее загруженный экземпляр.
+ */
+public class LoadBalancingClientHttpRequestFactory implements ClientHttpRequestFactory {
+    private final ClientHttpRequestFactory delegate;
+    private final ServerBalancer balancer;
+
+    public LoadBalancingClientHttpRequestFactory(ClientHttpRequestFactory delegate, ServerBalancer balancer) {
+        this.delegate = delegate;
+        this.balancer = balancer;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        ServerInstance instance = balancer.choose();
+        return new BalancedRequest(delegate.createRequest(target(instance.uri(), uri), httpMethod), instance);
+    }
+
+    static URI target(URI origin, URI uri) {
+        return URI.create(origin.getScheme() + "://" + origin.getRawAuthority() + uri.getRawPath()
+                + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery()));
+    }
+
+    // Ошибками экземпляра считаются сбои соединения и ответы прокси/перегрузки, но не ошибки приложения
+    // и не исчерпанный бюджет времени маршрута (504)
+    private static boolean isInstanceFailure(HttpStatusCode status) {
+        return status.isSameCodeAs(HttpStatus.BAD_GATEWAY) || status.isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private class BalancedRequest implements ClientHttpRequest {
+        private final ClientHttpRequest request;
+        private final ServerInstance instance;
+
+        BalancedRequest(ClientHttpRequest request, ServerInstance instance) {
+            this.request = request;
+            this.instance = instance;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            instance.started();
+            try {
+                ClientHttpResponse response = request.execute();
+                if (isInstanceFailure(response.getStatusCode())) {
+                    balancer.onFailure(instance);
+                } else if (response.getStatusCode().isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT)) {
+                    balancer.onTimeout(instance);
+                } else {
+                    balancer.onSuccess(instance);
+                }
+                return new BalancedResponse(response, instance);
+            } catch (SocketTimeoutException e) {
+                // Сервер не ответил за таймаут ответа (бюджет маршрута), но соединение с ним было
+                instance.finished();
+                balancer.onTimeout(instance);
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                instance.finished();
+                balancer.onFailure(instance);
+                throw e;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+    }
+
+    private static class BalancedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final ServerInstance instance;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        BalancedResponse(ClientHttpResponse response, ServerInstance instance) {
+            this.response = response;
+            this.instance = instance;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                instance.finished();
+            }
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client.balancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Выбор экземпляра сервера по принципу "двух случайных": из двух доступных экземпляров берётся тот,
+ * у которого меньше запросов в работе с учётом доли нагрузки после возврата. Экземпляр исключается
+ * пассивно (ошибки подряд) и активно (проверка health); если недоступны все, выбор идёт среди всех,
+ * чтобы не отказывать в обслуживании из-за ошибочного исключения. Таймауты ответа (в том числе 504 сервера
+ * по бюджету маршрута) говорят о медленном маршруте, а не о сбое экземпляра: они считаются отдельно
+ * и к исключению не ведут.
+ */
+@Slf4j
+public class ServerBalancer {
+    private final List<ServerInstance> instances;
+    private final LoadBalancerProperties properties;
+    private final LongSupplier clock;
+    private final long epoch;
+    private final MeterRegistry meterRegistry;
+
+    public ServerBalancer(LoadBalancerProperties properties, LongSupplier nanoClock, MeterRegistry meterRegistry) {
+        this.instances = properties.getInstances().stream().map(ServerInstance::new).toList();
+        this.properties = properties;
+        this.clock = nanoClock;
+        // Нулевое время в состоянии экземпляра означает "не исключался", поэтому отсчёт ведётся с единицы
+        this.epoch = nanoClock.getAsLong() - 1;
+        this.meterRegistry = meterRegistry;
+        for (ServerInstance instance : instances) {
+            String tag = instance.uri().toString();
+            Gauge.builder("gateway.balancer.outstanding", instance, ServerInstance::outstanding)
+                    .tag("instance", tag)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.balancer.available", instance, i -> isAvailable(i) ? 1 : 0)
+                    .tag("instance", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return !instances.isEmpty();
+    }
+
+    public List<ServerInstance> instances() {
+        return instances;
+    }
+
+    public boolean isAvailable(ServerInstance instance) {
+        return instance.isAvailable(now());
+    }
+
+    public ServerInstance choose() {
+        long now = now();
+        ServerInstance first = randomAvailable(now, null);
+        if (first == null) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            first = instances.get(random.nextInt(instances.size()));
+            ServerInstance second = instances.get(random.nextInt(instances.size()));
+            return less(first, second, now);
+        }
+        ServerInstance second = randomAvailable(now, first);
+        return second == null ? first : less(first, second, now);
+    }
+
+    public void onSuccess(ServerInstance instance) {
+        instance.succeeded(now(), properties.getSlowStart().toNanos());
+    }
+
+    public void onFailure(ServerInstance instance) {
+        if (instance.failed(now(), properties.getConsecutiveErrors(), properties.getEjectionTime().toNanos(),
+                properties.getMaxEjectionTime().toNanos())) {
+            log.warn("Server instance {} ejected after {} consecutive errors", instance.uri(),
+                    properties.getConsecutiveErrors());
+            ejections(instance, "errors").increment();
+        }
+    }
+
+    public void onTimeout(ServerInstance instance) {
+        Counter.builder("gateway.balancer.timeouts")
+                .tag("instance", instance.uri().toString())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void onHealthCheck(ServerInstance instance, boolean passed) {
+        if (instance.healthChecked(passed, now())) {
+            log.warn("Server instance {} health check {}", instance.uri(), passed ? "passed" : "failed");
+            if (!passed) {
+                ejections(instance, "health").increment();
+            }
+        }
+    }
+
+    // Обход со случайного места: при недоступных экземплярах выбор остаётся случайным и линейным в худшем случае
+    private ServerInstance randomAvailable(long now, ServerInstance exclude) {
+        int size = instances.size();
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            ServerInstance candidate = instances.get((start + i) % size);
+            if (candidate != exclude && candidate.isAvailable(now)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private ServerInstance less(ServerInstance first, ServerInstance second, long now) {
+        return load(first, now) <= load(second, now) ? first : second;
+    }
+
+    private double load(ServerInstance instance, long now) {
+        return (instance.outstanding() + 1) / instance.weight(now, properties.getSlowStart().toNanos());
+    }
+
+    private Counter ejections(ServerInstance instance, String reason) {
+        return Counter.builder("gateway.balancer.ejections")
+                .tag("instance", instance.uri().toString())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private long now() {
+        return clock.getAsLong() - epoch;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client.balancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Активная проверка экземпляров сервера: GET health-path раз в health-check-interval.
+ * Без shareit-server.balancer.instances проверки не запускаются.
+ */
+@Slf4j
+@Component
+public class ServerHealthChecker implements InitializingBean, DisposableBean {
+    private final ServerBalancer balancer;
+    private final CloseableHttpClient serverHttpClient;
+    private final LoadBalancerProperties properties;
+    private final RequestConfig requestConfig;
+    private ScheduledExecutorService scheduler;
+
+    public ServerHealthChecker(ServerBalancer balancer, CloseableHttpClient serverHttpClient,
+                               LoadBalancerProperties properties) {
+        this.balancer = balancer;
+        this.serverHttpClient = serverHttpClient;
+        this.properties = properties;
+        this.requestConfig = RequestConfig.custom()
+                .setResponseTimeout(Timeout.of(properties.getHealthCheckTimeout()))
+                .build();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!balancer.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("server-health-check").daemon().factory());
+        long interval = properties.getHealthCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void checkAll() {
+        for (ServerInstance instance : balancer.instances()) {
+            HttpGet check = new HttpGet(instance.uri().resolve(properties.getHealthPath()));
+            check.setConfig(requestConfig);
+            boolean passed;
+            try {
+                passed = serverHttpClient.execute(check, response -> response.getCode() == HttpStatus.SC_OK);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Health check of {} failed: {}", instance.uri(), e.toString());
+                passed = false;
+            }
+            balancer.onHealthCheck(instance, passed);
+        }
+    }
+}
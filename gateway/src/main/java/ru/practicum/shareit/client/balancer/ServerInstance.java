@@ -0,0 +1,100 @@
+package ru.practicum.shareit.client.balancer;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Состояние одного экземпляра сервера: запросы в работе, ошибки подряд, исключение из балансировки
+ * и время возврата, от которого отсчитывается плавный набор нагрузки.
+ */
+public class ServerInstance {
+    private static final double MIN_WEIGHT = 0.1;
+
+    private final URI uri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveErrors = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private final AtomicLong ejectedUntil = new AtomicLong();
+    private volatile long returnedAt;
+    private volatile int ejections;
+
+    ServerInstance(URI uri) {
+        this.uri = uri;
+    }
+
+    public URI uri() {
+        return uri;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isAvailable(long now) {
+        return healthy && now - ejectedUntil.get() >= 0;
+    }
+
+    // Доля нагрузки: после возврата растёт линейно за slowStartNanos
+    double weight(long now, long slowStartNanos) {
+        long elapsed = now - returnedAt;
+        if (returnedAt == 0 || elapsed >= slowStartNanos) {
+            return 1.0;
+        }
+        return Math.max(MIN_WEIGHT, (double) Math.max(0, elapsed) / slowStartNanos);
+    }
+
+    void started() {
+        outstanding.incrementAndGet();
+    }
+
+    void finished() {
+        outstanding.decrementAndGet();
+    }
+
+    void succeeded(long now, long slowStartNanos) {
+        consecutiveErrors.set(0);
+        if (ejections > 0 && weight(now, slowStartNanos) >= 1.0) {
+            ejections = 0;
+        }
+    }
+
+    /**
+     * Учитывает ошибку. Одновременные ошибки могут перешагнуть порог вместе, поэтому исключает экземпляр
+     * тот, кто первым сменил срок исключения; ошибки уже исключённого экземпляра (запросы, отправленные
+     * до исключения) не копятся и не продлевают его.
+     *
+     * @return true, если экземпляр исключён из балансировки этой ошибкой
+     */
+    boolean failed(long now, int threshold, long ejectionNanos, long maxEjectionNanos) {
+        long ejected = ejectedUntil.get();
+        if (now - ejected < 0 || consecutiveErrors.incrementAndGet() < threshold) {
+            return false;
+        }
+        int count = ejections + 1;
+        long until = now + Math.min(maxEjectionNanos, ejectionNanos * count);
+        if (!ejectedUntil.compareAndSet(ejected, until)) {
+            return false;
+        }
+        ejections = count;
+        consecutiveErrors.set(0);
+        returnedAt = until;
+        return true;
+    }
+
+    /**
+     * Запоминает результат активной проверки.
+     *
+     * @return true, если состояние изменилось
+     */
+    boolean healthChecked(boolean passed, long now) {
+        if (passed == healthy) {
+            return false;
+        }
+        healthy = passed;
+        if (passed) {
+            returnedAt = now;
+        }
+        return true;
+    }
+}
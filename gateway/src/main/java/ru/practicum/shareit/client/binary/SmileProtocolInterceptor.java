@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client.binary;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.client.BufferedClientHttpResponse;
+import ru.practicum.shareit.client.InterceptorOrder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Запрашивает у сервера ответы в бинарном формате Smile и перекодирует их в JSON для клиентов шлюза.
+ * Перекодирование потоковое (токен за токеном), без построения DTO и дерева.
+ * Включается свойством shareit-server.binary.enabled; тела запросов к серверу остаются JSON.
+ */
+@Component
+@Order(InterceptorOrder.BINARY_PROTOCOL)
+@ConditionalOnProperty(prefix = "shareit-server.binary", name = "enabled", havingValue = "true")
+public class SmileProtocolInterceptor implements ClientHttpRequestInterceptor {
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private static final List<MediaType> ACCEPT = List.of(APPLICATION_SMILE, MediaType.APPLICATION_JSON);
+
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        headers.setAccept(ACCEPT);
+        ClientHttpResponse response = execution.execute(new HttpRequestWrapper(request) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        }, body);
+
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType == null || !APPLICATION_SMILE.isCompatibleWith(contentType)) {
+            return response;
+        }
+        BufferedClientHttpResponse smile = BufferedClientHttpResponse.of(response);
+        HttpHeaders jsonHeaders = new HttpHeaders();
+        jsonHeaders.putAll(smile.getHeaders());
+        jsonHeaders.setContentType(MediaType.APPLICATION_JSON);
+        jsonHeaders.remove(HttpHeaders.CONTENT_LENGTH);
+        return new BufferedClientHttpResponse(smile.getStatusCode(), jsonHeaders, toJson(smile.getBodyBytes()));
+    }
+
+    byte[] toJson(byte[] smile) throws IOException {
+        if (smile.length == 0) {
+            return smile;
+        }
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = smileFactory.createParser(smile);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return json.toByteArray();
+    }
+}
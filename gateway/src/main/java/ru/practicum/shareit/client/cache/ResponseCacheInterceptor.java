@@ -0,0 +1,189 @@
+package ru.practicum.shareit.client.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.client.BufferedClientHttpResponse;
+import ru.practicum.shareit.client.InterceptorOrder;
+import ru.practicum.shareit.client.ServerRoutes;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Кэш GET-ответов сервера на стороне шлюза. Свежий ответ отдаётся без обращения к серверу,
+ * устаревший перепроверяется запросом с If-None-Match: если сервер ответил 304, тело берётся из кэша.
+ * Ключ учитывает X-Sharer-User-Id, так как от него зависит, например, карточка вещи для владельца.
+ * <p>
+ * Успешный изменяющий запрос делает устаревшими только затронутые записи: их ключи находятся
+ * по вторичному индексу "путь ресурса -> ключи кэша", поэтому запись не перебирает весь кэш.
+ * Изменение бронирования делает устаревшей карточку забронированной вещи (в ней lastBooking и nextBooking).
+ */
+@Component
+@Order(InterceptorOrder.RESPONSE_CACHE)
+@ConditionalOnProperty(prefix = "shareit-server.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String ID_PLACEHOLDER = "{id}";
+    private static final String BOOKINGS = "/bookings";
+    private static final String ITEMS = "/items";
+
+    private final ServerRoutes serverRoutes;
+    private final ObjectMapper objectMapper;
+    private final Set<String> routes;
+    private final long freshForNanos;
+    private final Cache<CacheKey, CachedResponse> cache;
+    // Ключи кэша по пути ресурса: карточки - по своему пути (/items/1), списки - по пути коллекции (/items)
+    private final ConcurrentMap<String, Set<CacheKey>> keysByPath = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter revalidations;
+    private final Counter misses;
+
+    public ResponseCacheInterceptor(ResponseCacheProperties properties, ServerRoutes serverRoutes,
+                                    ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.serverRoutes = serverRoutes;
+        this.objectMapper = objectMapper;
+        this.routes = Set.copyOf(properties.getRoutes());
+        this.freshForNanos = properties.getFreshFor().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((CacheKey key, CachedResponse value) ->
+                        key.uri().length() + value.response().getBodyBytes().length)
+                .expireAfterWrite(properties.getExpireAfter())
+                // Синхронно с вытеснением, иначе индекс мог бы потерять ключ, снова добавленный в кэш
+                .evictionListener((CacheKey key, CachedResponse value, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.response");
+        this.hits = lookups(meterRegistry, "hit");
+        this.revalidations = lookups(meterRegistry, "revalidated");
+        this.misses = lookups(meterRegistry, "miss");
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        URI uri = request.getURI();
+        String route = serverRoutes.route(uri);
+        String path = serverRoutes.path(uri);
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return response;
+            }
+            markStale(path);
+            if (path.startsWith(BOOKINGS)) {
+                BufferedClientHttpResponse buffered = BufferedClientHttpResponse.of(response);
+                markBookedItemStale(buffered);
+                return buffered;
+            }
+            return response;
+        }
+        if (!routes.contains(route)) {
+            return execution.execute(request, body);
+        }
+
+        CacheKey key = new CacheKey(uri.toString(), route.contains(ID_PLACEHOLDER) ? path : resourceOf(route),
+                request.getHeaders().getFirst(USER_HEADER));
+        long now = System.nanoTime();
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFreshAt(now)) {
+            hits.increment();
+            return cached.response();
+        }
+        if (cached != null && cached.response().getHeaders().getETag() != null) {
+            request.getHeaders().setIfNoneMatch(cached.response().getHeaders().getETag());
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            response.close();
+            revalidations.increment();
+            cache.put(key, new CachedResponse(cached.response(), now + freshForNanos));
+            return cached.response();
+        }
+        misses.increment();
+        if (!response.getStatusCode().isSameCodeAs(HttpStatus.OK)) {
+            return response;
+        }
+        BufferedClientHttpResponse buffered = BufferedClientHttpResponse.of(response);
+        // Сначала индекс, потом кэш: вытеснение записи всегда видит её ключ в индексе
+        keysByPath.compute(key.indexPath(), (indexPath, keys) -> {
+            Set<CacheKey> indexed = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            indexed.add(key);
+            return indexed;
+        });
+        cache.put(key, new CachedResponse(buffered, now + freshForNanos));
+        return buffered;
+    }
+
+    // После изменения ресурса устаревают сам ресурс, его "родители" и списки того же типа (поиск, списки вещей):
+    // для /items/1/comment это ключи /items/1/comment, /items/1 и /items.
+    // Записи не удаляются: следующая выборка перепроверит их по ETag.
+    private void markStale(String writtenPath) {
+        long now = System.nanoTime();
+        for (int end = writtenPath.length(); end > 0; end = writtenPath.lastIndexOf('/', end - 1)) {
+            Set<CacheKey> keys = keysByPath.get(writtenPath.substring(0, end));
+            if (keys != null) {
+                keys.forEach(key -> cache.asMap().computeIfPresent(key,
+                        (k, value) -> new CachedResponse(value.response(), now)));
+            }
+        }
+    }
+
+    // Ответ на создание и изменение бронирования содержит itemId забронированной вещи
+    private void markBookedItemStale(BufferedClientHttpResponse response) {
+        try {
+            JsonNode itemId = objectMapper.readTree(response.getBodyBytes()).path("itemId");
+            if (itemId.canConvertToLong()) {
+                markStale(ITEMS + "/" + itemId.asLong());
+            }
+        } catch (IOException e) {
+            // Не JSON: карточка вещи устареет сама через fresh-for
+        }
+    }
+
+    private void unindex(CacheKey key) {
+        keysByPath.computeIfPresent(key.indexPath(), (path, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static String resourceOf(String route) {
+        int end = route.indexOf('/', 1);
+        return end < 0 ? route : route.substring(0, end);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.response.cache.lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CacheKey(String uri, String indexPath, String userId) {
+    }
+
+    private record CachedResponse(BufferedClientHttpResponse response, long freshUntilNanos) {
+        boolean isFreshAt(long nanos) {
+            return nanos - freshUntilNanos < 0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    // Шаблоны маршрутов сервера, GET-ответы которых кэшируются
+    private List<String> routes = List.of("/items/{id}", "/items/search");
+    // Сколько ответ отдаётся без обращения к серверу
+    private Duration freshFor = Duration.ofSeconds(5);
+    // Сколько ответ хранится для перепроверки по ETag после устаревания
+    private Duration expireAfter = Duration.ofMinutes(10);
+    // Ограничение на суммарный размер тел ответов в кэше
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+}
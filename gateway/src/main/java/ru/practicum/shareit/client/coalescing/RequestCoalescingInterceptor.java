@@ -0,0 +1,123 @@
+package ru.practicum.shareit.client.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.client.BufferedClientHttpResponse;
+import ru.practicum.shareit.client.InterceptorOrder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Объединяет одинаковые одновременные GET-запросы к серверу: первый запрос (ведущий) идёт на сервер,
+ * остальные ждут его ответ и получают копию. Если ведущий не ответил за follower-timeout,
+ * ведомый выполняет запрос сам.
+ */
+@Component
+@Order(InterceptorOrder.REQUEST_COALESCING)
+@ConditionalOnProperty(prefix = "shareit-server.coalescing", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class RequestCoalescingInterceptor implements ClientHttpRequestInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final Map<CoalescingKey, CompletableFuture<BufferedClientHttpResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    private final long followerTimeoutNanos;
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter followerTimeouts;
+
+    public RequestCoalescingInterceptor(RequestCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.followerTimeoutNanos = properties.getFollowerTimeout().toNanos();
+        this.leaders = requests(meterRegistry, "leader");
+        this.followers = requests(meterRegistry, "follower");
+        this.followerTimeouts = requests(meterRegistry, "follower-timeout");
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+        HttpHeaders headers = request.getHeaders();
+        CoalescingKey key = new CoalescingKey(request.getURI().toString(), headers.getFirst(USER_HEADER),
+                headers.getFirst(HttpHeaders.ACCEPT), headers.getFirst(HttpHeaders.IF_NONE_MATCH));
+
+        CompletableFuture<BufferedClientHttpResponse> call = new CompletableFuture<>();
+        CompletableFuture<BufferedClientHttpResponse> leaderCall = inFlight.putIfAbsent(key, call);
+        if (leaderCall == null) {
+            return lead(key, call, request, body, execution);
+        }
+        return follow(leaderCall, request, body, execution);
+    }
+
+    private ClientHttpResponse lead(CoalescingKey key, CompletableFuture<BufferedClientHttpResponse> call,
+                                    HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        leaders.increment();
+        try {
+            BufferedClientHttpResponse response = BufferedClientHttpResponse.of(execution.execute(request, body));
+            call.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Включая Error: иначе ведомые ждали бы ответа до своего таймаута
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private ClientHttpResponse follow(CompletableFuture<BufferedClientHttpResponse> leaderCall, HttpRequest request,
+                                      byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        try {
+            BufferedClientHttpResponse response = leaderCall.get(followerTimeoutNanos, TimeUnit.NANOSECONDS);
+            followers.increment();
+            return response;
+        } catch (TimeoutException e) {
+            followerTimeouts.increment();
+            return execution.execute(request, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a coalesced request");
+        } catch (ExecutionException e) {
+            followers.increment();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("Coalesced request failed", cause);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("gateway.coalescing.requests")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    private record CoalescingKey(String uri, String userId, String accept, String ifNoneMatch) {
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.client.coalescing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.coalescing")
+public class RequestCoalescingProperties {
+    private boolean enabled = true;
+    // Сколько ведомый запрос ждёт ответа ведущего, прежде чем пойти на сервер сам
+    private Duration followerTimeout = Duration.ofSeconds(2);
+}
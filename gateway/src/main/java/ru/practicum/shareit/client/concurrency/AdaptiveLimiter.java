@@ -0,0 +1,251 @@
+package ru.practicum.shareit.client.concurrency;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Адаптивный предел одновременных вызовов (AIMD по задержке). Базовая задержка - минимум за последнее
+ * окно baseline-window. Пока ответы не медленнее базовой в tolerance раз и предел используется хотя бы
+ * наполовину, он растёт примерно на единицу за время ответа; медленный ответ, ошибка ввода-вывода
+ * или 503/504 сервера уменьшают его в backoff-ratio раз, не чаще раза за время ответа.
+ * Запрос сверх предела ждёт освобождения в очереди не дольше заданного времени. Очереди ведутся
+ * по классам приоритета, освободившееся место получает запрос с наименьшей виртуальной меткой окончания
+ * (weighted fair queuing): класс с весом w обслуживается в w раз чаще класса с весом 1.
+ * Если освобождать места только через {@link #release()}, предел не меняется.
+ */
+public class AdaptiveLimiter {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Waiter>[] queues;
+    private final double[] weights;
+    private final double[] lastFinish;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final long baselineWindowNanos;
+    private final LongSupplier nanoClock;
+    private double limit;
+    private int inflight;
+    private long baselineNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private long windowStart;
+    private long lastDecrease;
+    private double virtualTime;
+    private int waiting;
+
+    public AdaptiveLimiter(ConcurrencyLimitProperties properties, LongSupplier nanoClock) {
+        this(properties, new double[]{1}, nanoClock);
+    }
+
+    /**
+     * @param weights веса классов приоритета; номер класса - индекс в массиве
+     */
+    @SuppressWarnings("unchecked")
+    public AdaptiveLimiter(ConcurrencyLimitProperties properties, double[] weights, LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.limit = Math.clamp(properties.getInitialLimit(), minLimit, maxLimit);
+        this.tolerance = properties.getTolerance();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.baselineWindowNanos = properties.getBaselineWindow().toNanos();
+        this.nanoClock = nanoClock;
+        this.weights = weights.clone();
+        this.lastFinish = new double[weights.length];
+        this.queues = new ArrayDeque[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] <= 0) {
+                throw new IllegalArgumentException("Priority class weight must be positive");
+            }
+            queues[i] = new ArrayDeque<>();
+        }
+        this.windowStart = nanoClock.getAsLong();
+        this.lastDecrease = windowStart - baselineWindowNanos;
+    }
+
+    public boolean tryAcquire(long maxWaitNanos) throws InterruptedException {
+        return tryAcquire(0, maxWaitNanos);
+    }
+
+    /**
+     * Занимает место в пределе, при необходимости ожидая в очереди своего класса приоритета.
+     *
+     * @return false, если место не освободилось за maxWaitNanos
+     */
+    public boolean tryAcquire(int priorityClass, long maxWaitNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (waiting == 0 && inflight < (int) limit) {
+                inflight++;
+                return true;
+            }
+            if (maxWaitNanos <= 0) {
+                return false;
+            }
+            Waiter waiter = enqueue(priorityClass);
+            long remaining = maxWaitNanos;
+            try {
+                while (!waiter.granted && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // Место уже передано этому запросу: возвращаем его следующему
+                    releasePermit();
+                } else {
+                    dequeue(waiter);
+                }
+                throw e;
+            }
+            if (!waiter.granted) {
+                dequeue(waiter);
+            }
+            return waiter.granted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Освобождает место после ответа сервера за rttNanos.
+     */
+    public void onSuccess(long rttNanos) {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            updateBaseline(rttNanos, now);
+            if (rttNanos > baselineNanos * tolerance) {
+                decrease(now, rttNanos);
+            } else if (inflight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            releasePermit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Освобождает место после признака перегрузки: таймаута, обрыва соединения, 503 или 504.
+     */
+    public void onDropped() {
+        lock.lock();
+        try {
+            decrease(nanoClock.getAsLong(), baselineNanos == Long.MAX_VALUE ? 0 : baselineNanos);
+            releasePermit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Освобождает место без влияния на предел: например, вызов не дошёл до сервера.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            releasePermit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inflight() {
+        return inflight;
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued(int priorityClass) {
+        lock.lock();
+        try {
+            return queues[priorityClass].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateBaseline(long rttNanos, long now) {
+        windowMinNanos = Math.min(windowMinNanos, rttNanos);
+        baselineNanos = Math.min(baselineNanos, rttNanos);
+        if (now - windowStart >= baselineWindowNanos) {
+            // Базовая задержка забывается раз в окно: сервер мог стать медленнее и без перегрузки
+            baselineNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowStart = now;
+        }
+    }
+
+    private void decrease(long now, long intervalNanos) {
+        if (now - lastDecrease >= intervalNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            lastDecrease = now;
+        }
+    }
+
+    private void releasePermit() {
+        inflight--;
+        while (waiting > 0 && inflight < (int) limit) {
+            Waiter waiter = next();
+            waiter.granted = true;
+            inflight++;
+            waiter.condition.signal();
+        }
+    }
+
+    private Waiter enqueue(int priorityClass) {
+        // Метка окончания: класс не может занять больше своей доли, даже если его запросы пришли раньше
+        double start = Math.max(virtualTime, lastFinish[priorityClass]);
+        Waiter waiter = new Waiter(lock.newCondition(), priorityClass, start, start + 1 / weights[priorityClass]);
+        lastFinish[priorityClass] = waiter.finish;
+        queues[priorityClass].addLast(waiter);
+        waiting++;
+        return waiter;
+    }
+
+    private Waiter next() {
+        ArrayDeque<Waiter> next = null;
+        for (ArrayDeque<Waiter> queue : queues) {
+            if (!queue.isEmpty() && (next == null || queue.peekFirst().finish < next.peekFirst().finish)) {
+                next = queue;
+            }
+        }
+        Waiter waiter = next.pollFirst();
+        waiting--;
+        virtualTime = waiter.start;
+        return waiter;
+    }
+
+    private void dequeue(Waiter waiter) {
+        if (queues[waiter.priorityClass].remove(waiter)) {
+            waiting--;
+        }
+    }
+
+    private static final class Waiter {
+        private final Condition condition;
+        private final int priorityClass;
+        private final double start;
+        private final double finish;
+        private boolean granted;
+
+        private Waiter(Condition condition, int priorityClass, double start, double finish) {
+            this.condition = condition;
+            this.priorityClass = priorityClass;
+            this.start = start;
+            this.finish = finish;
+        }
+    }
+}
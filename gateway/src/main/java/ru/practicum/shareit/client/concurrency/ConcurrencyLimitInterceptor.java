@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.client.InterceptorOrder;
+import ru.practicum.shareit.client.ServerRoutes;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ограничивает число одновременных вызовов каждого маршрута сервера адаптивным пределом
+ * ({@link AdaptiveLimiter}). Запрос, не дождавшийся места за max-queue-time, получает 503 без обращения
+ * к серверу. Стоит перед circuit breaker'ом, чтобы собственные отказы не считались ошибками маршрута;
+ * местные отказы внутренних перехватчиков ({@link LocalRejection}) освобождают место, не снижая предел,
+ * а ожидание в очереди приоритетов ({@link PriorityWait}) не входит во время ответа маршрута.
+ */
+@Slf4j
+@Component
+@Order(InterceptorOrder.CONCURRENCY_LIMIT)
+@ConditionalOnProperty(prefix = "shareit-server.concurrency-limit", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor {
+    private final ServerRoutes routes;
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteLimit> limits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(ServerRoutes routes, ConcurrencyLimitProperties properties,
+                                       ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.routes = routes;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String route = routes.route(request.getURI());
+        RouteLimit routeLimit = limits.computeIfAbsent(route, this::routeLimit);
+        AdaptiveLimiter limiter = routeLimit.limiter;
+        try {
+            if (!limiter.tryAcquire(properties.getMaxQueueTime().toNanos())) {
+                routeLimit.rejected.increment();
+                log.debug("Concurrency limit {} of {} exceeded", limiter.limit(), route);
+                return LocalRejection.overloaded(objectMapper, "Server route is overloaded: " + route);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a concurrency limit of " + route);
+        }
+        routeLimit.accepted.increment();
+        long start = System.nanoTime();
+        long priorityWait = PriorityWait.total();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            limiter.onDropped();
+            throw e;
+        } catch (RuntimeException e) {
+            // Отказ circuit breaker'а или bulkhead'а: сервер не вызывался
+            limiter.release();
+            throw e;
+        }
+        if (LocalRejection.isLocal(response)) {
+            // Шлюз отказал сам (нет места в пределе приоритетов): сервер не вызывался
+            limiter.release();
+            return response;
+        }
+        HttpStatusCode status = response.getStatusCode();
+        if (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            limiter.onDropped();
+        } else {
+            // Ожидание общего места в PriorityInterceptor - очередь шлюза, а не задержка сервера
+            limiter.onSuccess(System.nanoTime() - start - (PriorityWait.total() - priorityWait));
+        }
+        return response;
+    }
+
+    private RouteLimit routeLimit(String route) {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(properties, System::nanoTime);
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveLimiter::limit)
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, AdaptiveLimiter::inflight)
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.queued", limiter, AdaptiveLimiter::queued)
+                .tag("route", route)
+                .register(meterRegistry);
+        return new RouteLimit(limiter, requests(route, "accepted"), requests(route, "rejected"));
+    }
+
+    private Counter requests(String route, String result) {
+        return Counter.builder("gateway.concurrency.requests")
+                .tag("route", route)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record RouteLimit(AdaptiveLimiter limiter, Counter accepted, Counter rejected) {
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    // Предел одновременных вызовов маршрута до первых измерений и его границы.
+    // Сверху предел дополнительно ограничен bulkhead'ом маршрута (resilience4j.bulkhead)
+    private int initialLimit = 20;
+    private int minLimit = 2;
+    private int maxLimit = 200;
+    // Сколько запрос может ждать места в пределе, прежде чем получить 503
+    private Duration maxQueueTime = Duration.ofMillis(100);
+    // Во сколько раз ответ может быть медленнее базовой задержки, не считаясь признаком перегрузки
+    private double tolerance = 2.0;
+    // Во сколько раз уменьшается предел при перегрузке
+    private double backoffRatio = 0.9;
+    // За какое окно берётся минимальная задержка маршрута
+    private Duration baselineWindow = Duration.ofSeconds(30);
+}
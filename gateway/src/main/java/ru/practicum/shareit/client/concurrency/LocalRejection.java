@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.client.BufferedClientHttpResponse;
+import ru.practicum.shareit.error.ErrorResponse;
+
+import java.io.IOException;
+
+/**
+ * 503, которым шлюз отказывает сам, не вызывая сервер. Внешние перехватчики отличают такой ответ
+ * от 503 сервера и не считают его признаком перегрузки.
+ */
+final class LocalRejection extends BufferedClientHttpResponse {
+    private LocalRejection(HttpHeaders headers, byte[] body) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, headers, body);
+    }
+
+    static LocalRejection overloaded(ObjectMapper objectMapper, String message) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new LocalRejection(headers, objectMapper.writeValueAsBytes(new ErrorResponse(message)));
+    }
+
+    static boolean isLocal(ClientHttpResponse response) {
+        return response instanceof LocalRejection;
+    }
+}
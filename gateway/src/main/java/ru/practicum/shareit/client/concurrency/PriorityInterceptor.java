@@ -0,0 +1,136 @@
+package ru.practicum.shareit.client.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.client.InterceptorOrder;
+import ru.practicum.shareit.client.ServerRoutes;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Распределяет места в общем пределе одновременных вызовов сервера между классами приоритета
+ * (weighted fair queuing, см. {@link AdaptiveLimiter}). Пока мест хватает, запросы проходят без очереди;
+ * при конкуренции важные запросы (подтверждение и создание бронирований) получают места чаще и ждут дольше,
+ * а поиск первым получает 503. Класс определяется по методу и шаблону маршрута.
+ */
+@Slf4j
+@Component
+@Order(InterceptorOrder.PRIORITY)
+@ConditionalOnProperty(prefix = "shareit-server.priority", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class PriorityInterceptor implements ClientHttpRequestInterceptor {
+    private final ServerRoutes routes;
+    private final ObjectMapper objectMapper;
+    private final AdaptiveLimiter limiter;
+    private final List<ClassStats> classes = new ArrayList<>();
+    private final Map<String, ClassStats> classesByRoute = new HashMap<>();
+    private final ClassStats defaultClass;
+
+    public PriorityInterceptor(PriorityProperties properties, ServerRoutes routes, ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.routes = routes;
+        this.objectMapper = objectMapper;
+        if (!properties.getClasses().containsKey(properties.getDefaultClass())) {
+            throw new IllegalArgumentException("Unknown default priority class: " + properties.getDefaultClass());
+        }
+        double[] weights = new double[properties.getClasses().size()];
+        for (Map.Entry<String, PriorityProperties.PriorityClass> entry : properties.getClasses().entrySet()) {
+            int index = classes.size();
+            weights[index] = entry.getValue().getWeight();
+            ClassStats stats = new ClassStats(index, entry.getKey(), entry.getValue().getMaxQueueTime().toNanos(),
+                    meterRegistry);
+            classes.add(stats);
+            entry.getValue().getRoutes().forEach(route -> classesByRoute.put(route.trim(), stats));
+        }
+        this.defaultClass = classes.stream()
+                .filter(stats -> stats.name.equals(properties.getDefaultClass()))
+                .findFirst()
+                .orElseThrow();
+        // Предел постоянный и соответствует пулу соединений; подстройку под сервер делает предел маршрута
+        ConcurrencyLimitProperties fixed = new ConcurrencyLimitProperties();
+        fixed.setInitialLimit(properties.getMaxConcurrentCalls());
+        fixed.setMinLimit(properties.getMaxConcurrentCalls());
+        fixed.setMaxLimit(properties.getMaxConcurrentCalls());
+        this.limiter = new AdaptiveLimiter(fixed, weights, System::nanoTime);
+        for (ClassStats stats : classes) {
+            Gauge.builder("gateway.priority.queued", limiter, current -> current.queued(stats.index))
+                    .tag("class", stats.name)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("gateway.priority.inflight", limiter, AdaptiveLimiter::inflight).register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClassStats priority = classesByRoute.getOrDefault(
+                request.getMethod().name() + " " + routes.route(request.getURI()), defaultClass);
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = limiter.tryAcquire(priority.index, priority.maxQueueTimeNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a server call slot");
+        }
+        long waited = System.nanoTime() - start;
+        priority.wait.record(waited, TimeUnit.NANOSECONDS);
+        PriorityWait.add(waited);
+        if (!acquired) {
+            priority.rejected.increment();
+            log.debug("No server call slot for {} {} ({})", request.getMethod(), request.getURI(), priority.name);
+            // Отказ помечен как местный: предел маршрута в ConcurrencyLimitInterceptor из-за него не снижается
+            return LocalRejection.overloaded(objectMapper, "Server is overloaded, retry later");
+        }
+        priority.accepted.increment();
+        try {
+            return execution.execute(request, body);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    private static final class ClassStats {
+        private final int index;
+        private final String name;
+        private final long maxQueueTimeNanos;
+        private final Timer wait;
+        private final Counter accepted;
+        private final Counter rejected;
+
+        private ClassStats(int index, String name, long maxQueueTimeNanos, MeterRegistry meterRegistry) {
+            this.index = index;
+            this.name = name;
+            this.maxQueueTimeNanos = maxQueueTimeNanos;
+            this.wait = Timer.builder("gateway.priority.wait")
+                    .tag("class", name)
+                    .register(meterRegistry);
+            this.accepted = requests(meterRegistry, name, "accepted");
+            this.rejected = requests(meterRegistry, name, "rejected");
+        }
+
+        private static Counter requests(MeterRegistry meterRegistry, String name, String result) {
+            return Counter.builder("gateway.priority.requests")
+                    .tag("class", name)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
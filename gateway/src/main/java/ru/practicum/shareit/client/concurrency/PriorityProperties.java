@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client.concurrency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.priority")
+public class PriorityProperties {
+    private boolean enabled = true;
+    // Общий предел одновременных вызовов сервера, за места в котором соревнуются классы.
+    // По умолчанию равен числу соединений пула на экземпляр сервера (shareit-server.http.max-connections-per-route)
+    private int maxConcurrentCalls = 100;
+    // Класс запросов, не перечисленных ни в одном классе
+    private String defaultClass = "normal";
+    private Map<String, PriorityClass> classes = defaultClasses();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriorityClass {
+        // Доля мест при конкуренции: класс с весом 8 получает место в 8 раз чаще класса с весом 1
+        private double weight = 1;
+        // Сколько запрос класса может ждать места, прежде чем получить 503
+        private Duration maxQueueTime = Duration.ofMillis(100);
+        // Запросы класса: метод и шаблон маршрута, например "PATCH /bookings/{id}"
+        private List<String> routes = new ArrayList<>();
+    }
+
+    private static Map<String, PriorityClass> defaultClasses() {
+        Map<String, PriorityClass> classes = new LinkedHashMap<>();
+        classes.put("critical", new PriorityClass(8, Duration.ofSeconds(1),
+                new ArrayList<>(List.of("PATCH /bookings/{id}", "POST /bookings"))));
+        classes.put("normal", new PriorityClass(4, Duration.ofMillis(250), new ArrayList<>()));
+        classes.put("sheddable", new PriorityClass(1, Duration.ofMillis(50),
+                new ArrayList<>(List.of("GET /items/search"))));
+        return classes;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client.concurrency;
+
+/**
+ * Сколько текущий поток простоял в очереди {@link PriorityInterceptor}. Предел маршрута стоит снаружи
+ * и вычитает это ожидание из времени ответа: очередь шлюза не признак медленного сервера.
+ */
+final class PriorityWait {
+    // Сумма ожиданий потока с его создания; читатель берёт разность до и после вызова
+    private static final ThreadLocal<long[]> WAITED_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private PriorityWait() {
+    }
+
+    static void add(long nanos) {
+        WAITED_NANOS.get()[0] += nanos;
+    }
+
+    static long total() {
+        return WAITED_NANOS.get()[0];
+    }
+}
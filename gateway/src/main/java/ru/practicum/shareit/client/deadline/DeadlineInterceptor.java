@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client.deadline;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.client.InterceptorOrder;
+import ru.practicum.shareit.client.ServerRoutes;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Передаёт серверу оставшийся бюджет времени вызова в заголовке {@value #TIMEOUT_HEADER} (миллисекунды).
+ * Бюджет выбирается по шаблону маршрута; сервер ограничивает им транзакцию и запросы к БД.
+ * Передаётся относительное время, а не абсолютный момент, чтобы не зависеть от расхождения часов.
+ * <p>
+ * Вызывающий код может сократить бюджет своих вызовов ({@link #callBefore}): тогда и сервер, и ожидание
+ * ответа на шлюзе ограничены остатком времени до его срока, а не бюджетом маршрута.
+ */
+@Component
+@Order(InterceptorOrder.DEADLINE)
+@ConditionalOnProperty(prefix = "shareit-server.deadline", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class DeadlineInterceptor implements ClientHttpRequestInterceptor {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    // Срок вызовов текущего потока по System.nanoTime(), заданный вызывающим кодом
+    private static final ThreadLocal<Long> CALLER_DEADLINE = new ThreadLocal<>();
+
+    private final ServerRoutes routes;
+    private final Duration defaultBudget;
+    private final Map<String, Duration> budgets;
+
+    public DeadlineInterceptor(ServerRoutes routes, DeadlineProperties properties) {
+        this.routes = routes;
+        this.defaultBudget = properties.getDefaultBudget();
+        this.budgets = Map.copyOf(properties.getRoutes());
+    }
+
+    /**
+     * Выполняет вызовы сервера так, чтобы они завершились не позже deadlineNanos (по System.nanoTime()).
+     */
+    public static <T> T callBefore(long deadlineNanos, Supplier<T> call) {
+        Long previous = CALLER_DEADLINE.get();
+        CALLER_DEADLINE.set(previous == null ? deadlineNanos : Math.min(previous, deadlineNanos));
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CALLER_DEADLINE.remove();
+            } else {
+                CALLER_DEADLINE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Срок, заданный через {@link #callBefore} в текущем потоке, или null. Нужен коду, который продолжает
+     * вызов в другом потоке: там срок восстанавливается тем же callBefore.
+     */
+    public static Long callerDeadline() {
+        return CALLER_DEADLINE.get();
+    }
+
+    public Duration budget(URI uri) {
+        Duration budget = budgets.getOrDefault(routes.route(uri), defaultBudget);
+        Long deadline = CALLER_DEADLINE.get();
+        if (deadline == null) {
+            return budget;
+        }
+        // Не меньше миллисекунды: нулевой таймаут ответа у HTTP-клиента означает "без ограничения"
+        Duration remaining = Duration.ofNanos(Math.max(Duration.ofMillis(1).toNanos(), deadline - System.nanoTime()));
+        return remaining.compareTo(budget) < 0 ? remaining : budget;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Duration budget = budget(request.getURI());
+        request.getHeaders().set(TIMEOUT_HEADER, String.valueOf(budget.toMillis()));
+        return execution.execute(request, body);
+    }
+}
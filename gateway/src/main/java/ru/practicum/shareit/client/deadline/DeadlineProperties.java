@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client.deadline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.deadline")
+public class DeadlineProperties {
+    private boolean enabled = true;
+    // Бюджет времени на вызов сервера по умолчанию
+    private Duration defaultBudget = Duration.ofSeconds(5);
+    // Бюджеты отдельных маршрутов сервера по шаблону: /items/search, /bookings/owner, ...
+    private Map<String, Duration> routes = new LinkedHashMap<>();
+}
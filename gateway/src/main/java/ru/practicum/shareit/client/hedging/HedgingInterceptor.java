@@ -0,0 +1,290 @@
+package ru.practicum.shareit.client.hedging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.NoHttpResponseException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import ru.practicum.shareit.client.InterceptorOrder;
+import ru.practicum.shareit.client.ServerRoutes;
+import ru.practicum.shareit.client.deadline.DeadlineInterceptor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Дублирование (hedging) и повторы GET-запросов к серверу. GET к маршрутам из настроек отправляется
+ * повторно, если ответ не пришёл за перцентиль времени ответа маршрута, и берётся первый успешный ответ.
+ * GET, не дошедший до сервера из-за ошибки соединения, повторяется до max-attempts раз.
+ * Дубли и повторы расходуют общий {@link RetryBudget}, поэтому при отказе сервера их доля ограничена.
+ * Перехватчик последний в цепочке: сам создаёт запросы через фабрику, и каждая попытка проходит
+ * через все внешние перехватчики один раз.
+ */
+@Slf4j
+@Component
+@Order(InterceptorOrder.HEDGING)
+@ConditionalOnProperty(prefix = "shareit-server.hedging", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class HedgingInterceptor implements ClientHttpRequestInterceptor, DisposableBean {
+    // Как часто пересчитывается задержка дубля по накопленному перцентилю
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ClientHttpRequestFactory requestFactory;
+    private final ServerRoutes routes;
+    private final MeterRegistry meterRegistry;
+    private final HedgingProperties properties;
+    private final RetryBudget budget;
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+    // Попытки ждут ответа сервера и почти не занимают CPU: виртуальный поток на попытку
+    private final ExecutorService attempts = Executors.newVirtualThreadPerTaskExecutor();
+
+    public HedgingInterceptor(@Qualifier("serverRequestFactory") ClientHttpRequestFactory requestFactory,
+                              ServerRoutes routes, HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.requestFactory = requestFactory;
+        this.routes = routes;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.budget = new RetryBudget(properties.getBudgetRatio(), properties.getBudgetCapacity());
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+        budget.deposit();
+        String route = routes.route(request.getURI());
+        HedgingProperties.Route hedging = properties.getRoutes().get(route);
+        RouteStats routeStats = stats.computeIfAbsent(route, key -> new RouteStats(key, hedging));
+        if (hedging == null) {
+            return sendWithRetries(request, body, routeStats, System.nanoTime());
+        }
+        return hedge(request, body, routeStats, DeadlineInterceptor.callerDeadline());
+    }
+
+    @Override
+    public void destroy() {
+        attempts.close();
+    }
+
+    // deadline - срок вызывающего кода (DeadlineInterceptor.callBefore) или null; попытки идут в своих потоках
+    private ClientHttpResponse hedge(HttpRequest request, byte[] body, RouteStats routeStats, Long deadline)
+            throws IOException {
+        routeStats.calls.increment();
+        long start = System.nanoTime();
+        CompletableFuture<Attempt> primary = attempt(request, body, routeStats, start, deadline, false);
+        try {
+            return primary.get(routeStats.hedgeDelayNanos(), TimeUnit.NANOSECONDS).response();
+        } catch (TimeoutException e) {
+            // Ответ медленнее перцентиля: отправляем дубль, если позволяет бюджет
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            closeWhenDone(primary);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a server response");
+        }
+        if (!budget.tryWithdraw()) {
+            routeStats.budgetExhausted.increment();
+            return await(primary).response();
+        }
+        CompletableFuture<Attempt> hedge = attempt(request, body, routeStats, start, deadline, true);
+        Attempt winner = await(firstSuccessful(primary, hedge));
+        (winner.hedge() ? routeStats.hedgeWon : routeStats.primaryWon).increment();
+        return winner.response();
+    }
+
+    private CompletableFuture<Attempt> attempt(HttpRequest request, byte[] body, RouteStats routeStats, long start,
+                                               Long deadline, boolean hedge) {
+        Supplier<Attempt> send = () -> {
+            try {
+                return new Attempt(sendWithRetries(request, body, routeStats, start), hedge);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        };
+        // Срок вызывающего кода живёт в ThreadLocal его потока: без него таймаут ответа взялся бы
+        // из полного бюджета маршрута, а не из остатка, переданного серверу
+        return CompletableFuture.supplyAsync(
+                deadline == null ? send : () -> DeadlineInterceptor.callBefore(deadline, send), attempts);
+    }
+
+    private ClientHttpResponse sendWithRetries(HttpRequest request, byte[] body, RouteStats routeStats, long start)
+            throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            long attemptStart = System.nanoTime();
+            try {
+                ClientHttpResponse response = send(request, body, attemptStart - start);
+                routeStats.latency.record(System.nanoTime() - attemptStart, TimeUnit.NANOSECONDS);
+                return response;
+            } catch (IOException e) {
+                if (!isConnectionFailure(e) || attempt >= properties.getMaxAttempts()) {
+                    throw e;
+                }
+                if (!budget.tryWithdraw()) {
+                    routeStats.budgetExhausted.increment();
+                    throw e;
+                }
+                routeStats.retries.increment();
+                log.debug("Retrying {} after connection failure: {}", request.getURI(), e.toString());
+            }
+        }
+    }
+
+    private ClientHttpResponse send(HttpRequest request, byte[] body, long elapsedNanos) throws IOException {
+        ClientHttpRequest copy = requestFactory.createRequest(request.getURI(), request.getMethod());
+        copy.getHeaders().putAll(request.getHeaders());
+        // Дубль и повтор получают остаток бюджета времени, а не исходный
+        String timeout = request.getHeaders().getFirst(DeadlineInterceptor.TIMEOUT_HEADER);
+        if (timeout != null && elapsedNanos > 0) {
+            long remaining = Long.parseLong(timeout) - TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            copy.getHeaders().set(DeadlineInterceptor.TIMEOUT_HEADER, String.valueOf(Math.max(0, remaining)));
+        }
+        if (body.length > 0) {
+            StreamUtils.copy(body, copy.getBody());
+        }
+        return copy.execute();
+    }
+
+    // Первый успешный ответ; ответ проигравшей попытки закрывается, когда она завершится
+    private static CompletableFuture<Attempt> firstSuccessful(CompletableFuture<Attempt> primary,
+                                                              CompletableFuture<Attempt> hedge) {
+        CompletableFuture<Attempt> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<Attempt> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((result, error) -> {
+                if (error == null) {
+                    if (!winner.complete(result)) {
+                        result.response().close();
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static Attempt await(CompletableFuture<Attempt> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            closeWhenDone(future);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a server response");
+        }
+    }
+
+    private static void closeWhenDone(CompletableFuture<Attempt> future) {
+        future.thenAccept(attempt -> attempt.response().close());
+    }
+
+    private static IOException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    // Запрос не дошёл до сервера или соединение закрылось без ответа: повтор GET безопасен
+    private static boolean isConnectionFailure(IOException e) {
+        return e instanceof ConnectException || e instanceof ConnectTimeoutException
+                || e instanceof NoHttpResponseException;
+    }
+
+    private record Attempt(ClientHttpResponse response, boolean hedge) {
+    }
+
+    private final class RouteStats {
+        private final HedgingProperties.Route hedging;
+        private final Timer latency;
+        private final Counter calls;
+        private final Counter primaryWon;
+        private final Counter hedgeWon;
+        private final Counter retries;
+        private final Counter budgetExhausted;
+        private volatile long delayNanos;
+        private volatile long refreshedAt;
+
+        private RouteStats(String route, HedgingProperties.Route hedging) {
+            this.hedging = hedging;
+            Timer.Builder timer = Timer.builder("gateway.hedging.latency").tag("route", route);
+            if (hedging != null) {
+                timer.publishPercentiles(hedging.getPercentile())
+                        .distributionStatisticExpiry(Duration.ofMinutes(1))
+                        .distributionStatisticBufferLength(3);
+                this.delayNanos = hedging.getMaxDelay().toNanos();
+                this.refreshedAt = System.nanoTime();
+            }
+            this.latency = timer.register(meterRegistry);
+            this.calls = counter("gateway.hedging.calls", route);
+            // Доля дублей - hedges / calls, доля выигравших дублей - hedges{winner=hedge} / hedges
+            this.primaryWon = counter("gateway.hedging.hedges", route, "winner", "primary");
+            this.hedgeWon = counter("gateway.hedging.hedges", route, "winner", "hedge");
+            this.retries = counter("gateway.retry.attempts", route);
+            this.budgetExhausted = counter("gateway.retry.budget.exhausted", route);
+        }
+
+        private long hedgeDelayNanos() {
+            long now = System.nanoTime();
+            if (now - refreshedAt > DELAY_REFRESH_NANOS) {
+                refreshedAt = now;
+                delayNanos = computeDelayNanos();
+            }
+            return delayNanos;
+        }
+
+        private long computeDelayNanos() {
+            long max = hedging.getMaxDelay().toNanos();
+            if (latency.count() < hedging.getMinSamples()) {
+                return max;
+            }
+            ValueAtPercentile[] percentiles = latency.takeSnapshot().percentileValues();
+            if (percentiles.length == 0) {
+                return max;
+            }
+            long percentile = (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+            return Math.min(max, Math.max(hedging.getMinDelay().toNanos(), percentile));
+        }
+
+        private Counter counter(String name, String route, String... tags) {
+            return Counter.builder(name).tag("route", route).tags(tags).register(meterRegistry);
+        }
+    }
+}
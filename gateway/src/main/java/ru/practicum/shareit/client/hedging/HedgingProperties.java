@@ -0,0 +1,35 @@
+package ru.practicum.shareit.client.hedging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.hedging")
+public class HedgingProperties {
+    private boolean enabled = true;
+    // Шаблоны маршрутов, GET-запросы к которым дублируются, и их настройки
+    private Map<String, Route> routes = new LinkedHashMap<>(Map.of(
+            "/items/{id}", new Route(),
+            "/bookings/{id}", new Route()));
+    // Сколько попыток делается при ошибке соединения, включая первую
+    private int maxAttempts = 2;
+    // Доля запросов, на которую копятся токены повторов и дублей: 0.1 - не больше 10% сверху
+    private double budgetRatio = 0.1;
+    // Запас токенов на повторы и дубли
+    private int budgetCapacity = 10;
+
+    @Data
+    public static class Route {
+        // Дубль отправляется, если ответ не пришёл за этот перцентиль времени ответа маршрута
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(10);
+        // Задержка до накопления статистики и верхняя граница задержки
+        private Duration maxDelay = Duration.ofSeconds(1);
+        // Сколько ответов нужно для расчёта перцентиля
+        private int minSamples = 20;
+    }
+}
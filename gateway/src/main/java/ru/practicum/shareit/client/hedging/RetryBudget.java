@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Бюджет повторов: каждый запрос добавляет ratio токена, каждый повтор или дубль забирает один.
+ * Пока сервер отказывает, повторы быстро исчерпывают бюджет и не умножают нагрузку на него.
+ */
+public class RetryBudget {
+    private static final long MILLI = 1000;
+
+    private final AtomicLong milliTokens;
+    private final long deposit;
+    private final long capacity;
+
+    public RetryBudget(double ratio, int capacity) {
+        this.deposit = Math.round(ratio * MILLI);
+        this.capacity = capacity * MILLI;
+        this.milliTokens = new AtomicLong(this.capacity);
+    }
+
+    public void deposit() {
+        milliTokens.getAndUpdate(tokens -> Math.min(capacity, tokens + deposit));
+    }
+
+    public boolean tryWithdraw() {
+        long tokens;
+        do {
+            tokens = milliTokens.get();
+            if (tokens < MILLI) {
+                return false;
+            }
+        } while (!milliTokens.compareAndSet(tokens, tokens - MILLI));
+        return true;
+    }
+}
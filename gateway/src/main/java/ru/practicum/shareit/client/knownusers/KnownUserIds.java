@@ -0,0 +1,205 @@
+package ru.practicum.shareit.client.knownusers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Множество известных шлюзу пользователей в виде фильтра Блума. Фильтр строится по списку id с сервера
+ * (GET /users/ids) и раз в refresh-interval догружает новых пользователей. Удалить id из фильтра нельзя,
+ * поэтому удалённые пользователи пропадают при полной пересборке раз в rebuild-interval.
+ * Пока фильтр не загружен, все пользователи считаются известными. Транзакция с меньшим id может
+ * зафиксироваться позже большего, поэтому догрузка перечитывает все id, появившиеся за late-commit-window.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit-server.known-users", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class KnownUserIds implements InitializingBean, DisposableBean {
+    private final KnownUsersProperties properties;
+    private final IdPages pages;
+    private final LongSupplier clock;
+    private final Counter refreshFailures;
+    // Последний id перед каждой загрузкой за late-commit-window, от старых к новым: {время, id}
+    private final Deque<long[]> loadStarts = new ArrayDeque<>();
+    private volatile BloomFilter filter;
+    private volatile long maxId;
+    private volatile long loadedIds;
+    private volatile long refreshedAt;
+    private long rebuiltAt;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public KnownUserIds(KnownUsersProperties properties, @Value("${shareit-server.url}") String serverUrl,
+                        @Qualifier("serverRequestFactory") ClientHttpRequestFactory serverRequestFactory,
+                        MeterRegistry meterRegistry) {
+        this(properties, restPages(serverUrl, serverRequestFactory), System::currentTimeMillis, meterRegistry);
+    }
+
+    KnownUserIds(KnownUsersProperties properties, IdPages pages, LongSupplier clock, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pages = pages;
+        this.clock = clock;
+        this.refreshFailures = Counter.builder("gateway.known-users.refresh.failures").register(meterRegistry);
+        Gauge.builder("gateway.known-users.ids", this, known -> known.loadedIds).register(meterRegistry);
+        Gauge.builder("gateway.known-users.filter.bytes", this,
+                        known -> known.filter == null ? 0 : known.filter.bitSize() / Byte.SIZE)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("known-users-refresh").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, properties.getRefreshInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Пользователя точно нет на сервере. Ложный ответ "нет" невозможен для id, загруженных в фильтр;
+     * id новее загруженных пропускаются в пределах new-id-window, а при отстающем фильтре - все.
+     */
+    public boolean isUnknown(long userId) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return false;
+        }
+        if (userId <= 0) {
+            return true;
+        }
+        long known = maxId;
+        if (userId > known) {
+            boolean fresh = clock.getAsLong() - refreshedAt <= 3 * properties.getRefreshInterval().toMillis();
+            return fresh && userId - known > properties.getNewIdWindow();
+        }
+        return !current.mightContain(userId);
+    }
+
+    void refresh() {
+        try {
+            long now = clock.getAsLong();
+            if (filter == null) {
+                // Первая сборка не запоминается: перечитывать весь список целое окно дорого,
+                // пропущенные ею id вернёт пересборка
+                rebuild();
+                rebuiltAt = now;
+            } else {
+                long known = maxId;
+                long after = lateCommitStart(now, known);
+                if (now - rebuiltAt >= properties.getRebuildInterval().toMillis()) {
+                    rebuild();
+                    rebuiltAt = now;
+                } else {
+                    loadNew(after);
+                }
+                // Следующие загрузки в пределах late-commit-window перечитают id после known
+                loadStarts.addLast(new long[]{now, known});
+            }
+            refreshedAt = now;
+        } catch (RestClientException e) {
+            refreshFailures.increment();
+            log.warn("Known users refresh failed: {}", e.toString());
+        }
+    }
+
+    private void rebuild() {
+        long expected = Math.max(properties.getExpectedUsers(), loadedIds + loadedIds / 4);
+        BloomFilter next = new BloomFilter(expected, properties.getFalsePositiveRate());
+        long after = 0;
+        long count = 0;
+        long[] page;
+        do {
+            page = pages.after(after, properties.getPageSize());
+            for (long id : page) {
+                next.add(id);
+            }
+            count += page.length;
+            after = page.length == 0 ? after : page[page.length - 1];
+        } while (page.length >= properties.getPageSize());
+        if (count > properties.getExpectedUsers()) {
+            log.warn("Known users: {} ids exceed expected-users={}, the filter grows on rebuild", count,
+                    properties.getExpectedUsers());
+        }
+        filter = next;
+        maxId = after;
+        loadedIds = count;
+        log.info("Known users filter rebuilt: {} ids, {} KB, {} hashes", count, next.bitSize() / Byte.SIZE / 1024,
+                next.hashCount());
+    }
+
+    // Загрузки за late-commit-window могли пропустить id, чья транзакция ещё не зафиксировалась:
+    // перечитывается всё после последнего id, известного до самой ранней из них
+    private long lateCommitStart(long now, long known) {
+        long windowStart = now - properties.getLateCommitWindow().toMillis();
+        while (!loadStarts.isEmpty() && loadStarts.peekFirst()[0] < windowStart) {
+            loadStarts.removeFirst();
+        }
+        return loadStarts.isEmpty() ? known : Math.min(known, loadStarts.peekFirst()[1]);
+    }
+
+    private void loadNew(long after) {
+        BloomFilter current = filter;
+        long known = maxId;
+        long added = 0;
+        long[] page;
+        do {
+            page = pages.after(after, properties.getPageSize());
+            for (long id : page) {
+                if (id > known || !current.mightContain(id)) {
+                    added++;
+                }
+                current.add(id);
+            }
+            after = page.length == 0 ? after : page[page.length - 1];
+        } while (page.length >= properties.getPageSize());
+        // maxId пишется после добавления: кто видит новый maxId, видит и новые id в фильтре
+        if (after > known) {
+            loadedIds += added;
+            maxId = after;
+        }
+    }
+
+    private static IdPages restPages(String serverUrl, ClientHttpRequestFactory serverRequestFactory) {
+        // Без общих перехватчиков клиентов: список id не кэшируется и не дублируется
+        RestTemplate rest = new RestTemplate(serverRequestFactory);
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(serverUrl));
+        return (after, limit) -> {
+            long[] ids = rest.getForObject("/users/ids?after={after}&limit={limit}", long[].class, after, limit);
+            return ids == null ? new long[0] : ids;
+        };
+    }
+
+    /**
+     * Страница id пользователей по возрастанию, строго больше after.
+     */
+    @FunctionalInterface
+    interface IdPages {
+        long[] after(long after, int limit);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client.knownusers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.client.BufferedClientHttpResponse;
+import ru.practicum.shareit.client.InterceptorOrder;
+import ru.practicum.shareit.client.ServerRoutes;
+import ru.practicum.shareit.error.ErrorResponse;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Отвечает 404 без обращения к серверу, если X-Sharer-User-Id точно не существует.
+ * Проверяются только маршруты, где сервер сам отказывает неизвестному пользователю, поэтому ответ
+ * клиенту не меняется. Перехватчик стоит после валидации запроса в контроллере шлюза.
+ */
+@Slf4j
+@Component
+@Order(InterceptorOrder.KNOWN_USERS)
+@ConditionalOnProperty(prefix = "shareit-server.known-users", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class KnownUsersInterceptor implements ClientHttpRequestInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final KnownUserIds knownUsers;
+    private final ServerRoutes serverRoutes;
+    private final Set<String> routes;
+    private final ObjectMapper objectMapper;
+    private final Counter passed;
+    private final Counter rejected;
+
+    public KnownUsersInterceptor(KnownUserIds knownUsers, KnownUsersProperties properties, ServerRoutes serverRoutes,
+                                 ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.knownUsers = knownUsers;
+        this.serverRoutes = serverRoutes;
+        this.routes = Set.copyOf(properties.getRoutes());
+        this.objectMapper = objectMapper;
+        this.passed = checks(meterRegistry, "passed");
+        this.rejected = checks(meterRegistry, "rejected");
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String header = request.getHeaders().getFirst(USER_HEADER);
+        String route = request.getMethod().name() + " " + serverRoutes.route(request.getURI());
+        if (header == null || !routes.contains(route)) {
+            return execution.execute(request, body);
+        }
+        long userId;
+        try {
+            userId = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return execution.execute(request, body);
+        }
+        if (!knownUsers.isUnknown(userId)) {
+            passed.increment();
+            return execution.execute(request, body);
+        }
+        rejected.increment();
+        log.debug("Rejected unknown user: userId={}, {} {}", userId, request.getMethod(), request.getURI());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new BufferedClientHttpResponse(HttpStatus.NOT_FOUND, headers,
+                objectMapper.writeValueAsBytes(new ErrorResponse("Пользователь с id = " + userId + " не найден")));
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.known-users.checks")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client.knownusers;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.known-users")
+public class KnownUsersProperties {
+    private boolean enabled = true;
+    // Запросы (метод и шаблон маршрута), на которые сервер отвечает 404 для несуществующего X-Sharer-User-Id
+    private Set<String> routes = new LinkedHashSet<>(Set.of(
+            "POST /items",
+            "PATCH /items/{id}",
+            "POST /items/{id}/comment",
+            "POST /bookings",
+            "GET /bookings",
+            "GET /bookings/owner",
+            "POST /requests"));
+    // На сколько пользователей рассчитан фильтр; при большем числе фильтр растёт при пересборке
+    private long expectedUsers = 1_000_000;
+    // Доля неизвестных id, которые фильтр примет за известные и пропустит к серверу.
+    // Вместе с expected-users задаёт память: 1% - около 1.2 МБ на миллион пользователей
+    private double falsePositiveRate = 0.01;
+    // Как часто догружаются новые пользователи
+    private Duration refreshInterval = Duration.ofSeconds(2);
+    // Сколько может фиксироваться транзакция создания пользователя: id, выданные за это время, перечитываются
+    private Duration lateCommitWindow = Duration.ofMinutes(1);
+    // Как часто фильтр строится заново: только так из него пропадают удалённые пользователи
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+    // Сколько id запрашивается у сервера за раз (сервер отдаёт не больше 10000)
+    private int pageSize = 10_000;
+    // id больше последнего загруженного на это число пропускаются: пользователь мог появиться после загрузки
+    private long newIdWindow = 1_000;
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import ru.practicum.shareit.client.InterceptorOrder;
+import ru.practicum.shareit.client.ServerRoutes;
+
+import java.io.IOException;
+
+/**
+ * Ограждает маршруты сервера друг от друга: у каждого шаблона маршрута свой bulkhead
+ * (предел одновременных вызовов) и свой circuit breaker. Открытый breaker и заполненный bulkhead
+ * отказывают сразу, не занимая соединение и поток в ожидании деградировавшего маршрута.
+ * Ошибками считаются 5xx и сбои ввода-вывода, медленными - вызовы дольше slow-call-duration-threshold.
+ */
+@Component
+@Order(InterceptorOrder.ROUTE_RESILIENCE)
+@ConditionalOnProperty(prefix = "shareit-server.resilience", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class RouteResilienceInterceptor implements ClientHttpRequestInterceptor {
+    private final ServerRoutes routes;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+
+    public RouteResilienceInterceptor(ServerRoutes routes, CircuitBreakerRegistry circuitBreakers,
+                                      BulkheadRegistry bulkheads) {
+        this.routes = routes;
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String route = routes.route(request.getURI());
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(route);
+        Bulkhead bulkhead = bulkheads.bulkhead(route);
+
+        circuitBreaker.acquirePermission();
+        if (!bulkhead.tryAcquirePermission()) {
+            // Отказ bulkhead'а не говорит о здоровье маршрута и не учитывается breaker'ом
+            circuitBreaker.releasePermission();
+            throw BulkheadFullException.createBulkheadFullException(bulkhead);
+        }
+        long start = circuitBreaker.getCurrentTimestamp();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            long duration = circuitBreaker.getCurrentTimestamp() - start;
+            if (response.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+                        new HttpServerErrorException(response.getStatusCode()));
+            } else {
+                circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            throw e;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+}
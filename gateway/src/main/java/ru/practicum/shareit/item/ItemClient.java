@@ -4,14 +4,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import org.springframework.web.util.UriComponentsBuilder;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerCallMetrics;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -19,12 +22,14 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory serverRequestFactory, ServerCallMetrics metrics) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                metrics
         );
     }
 
@@ -45,9 +50,29 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> searchItems(String text) {
-        Map<String, Object> parameters = Map.of(
-                "text", text);
-        return get("/search?text={text}", parameters);
+        return searchItems(text, null, null, null);
+    }
+
+    // Страница поиска: limit, cursor (из заголовка X-Next-Cursor предыдущей страницы) и ranked (лучшие limit вещей
+    // с баллами вместо страниц) передаются, только если заданы
+    public ResponseEntity<Object> searchItems(String text, @Nullable Integer limit, @Nullable String cursor,
+                                              @Nullable Boolean ranked) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        StringBuilder path = new StringBuilder("/search?text={text}");
+        if (limit != null) {
+            parameters.put("limit", limit);
+            path.append("&limit={limit}");
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path.append("&cursor={cursor}");
+        }
+        if (ranked != null) {
+            parameters.put("ranked", ranked);
+            path.append("&ranked={ranked}");
+        }
+        return get(path.toString(), parameters);
     }
 
     public ResponseEntity<Object> addComment(Long userId, Long itemId, CommentRequestDto commentDto) {
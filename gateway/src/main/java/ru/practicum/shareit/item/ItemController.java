@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -44,12 +45,12 @@ public class ItemController {
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @RequestBody @Valid ItemRequestDto itemDto) {
-        log.info("==> Gateway: Creating item: {}", itemDto);
+        log.debug("==> Gateway: Creating item: {}", itemDto);
 
         // Перенаправляем запрос на сервер
         ResponseEntity<Object> response = itemClient.create(userId, itemDto);
 
-        log.info("<== Gateway: Item created: {}", response.getBody());
+        log.debug("<== Gateway: Item created: {}", response.getStatusCode());
         return response;
     }
 
@@ -57,19 +58,22 @@ public class ItemController {
     public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @PathVariable("itemId") Long id,
                                          @RequestBody @Valid ItemRequestDto itemDto) {
-        log.info("==> Gateway: Updating item: {}", itemDto);
+        log.debug("==> Gateway: Updating item: {}", itemDto);
 
         // Перенаправляем запрос на сервер
         ResponseEntity<Object> response = itemClient.update(userId, id, itemDto);
 
-        log.info("<== Gateway: Item updated: {}", response.getBody());
+        log.debug("<== Gateway: Item updated: {}", response.getStatusCode());
         return response;
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text) {
+    public ResponseEntity<Object> searchItems(@RequestParam String text,
+                                              @RequestParam(required = false) @Positive Integer limit,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Boolean ranked) {
 
-        return itemClient.searchItems(text);
+        return itemClient.searchItems(text, limit, cursor, ranked);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -77,9 +81,9 @@ public class ItemController {
     public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @PathVariable Long itemId,
                                              @RequestBody @Valid CommentRequestDto commentDto) {
-        log.info("==> Gateway: Add comment: {}", commentDto);
+        log.debug("==> Gateway: Add comment: {}", commentDto);
         ResponseEntity<Object> response = itemClient.addComment(userId, itemId, commentDto);
-        log.info("<== Gateway: Add comment: {}", response.getBody());
+        log.debug("<== Gateway: Add comment: {}", response.getStatusCode());
         return response;
     }
 }
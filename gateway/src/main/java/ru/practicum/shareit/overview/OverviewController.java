@@ -0,0 +1,26 @@
+package ru.practicum.shareit.overview;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.overview.dto.OverviewDto;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/me")
+public class OverviewController {
+
+    private final OverviewService overviewService;
+
+    @GetMapping("/overview")
+    public OverviewDto getOverview(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("==> Gateway: Getting overview for user {}", userId);
+        OverviewDto overview = overviewService.getOverview(userId);
+        log.debug("<== Gateway: Getting overview for user {}", userId);
+        return overview;
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.overview;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.overview")
+public class OverviewProperties {
+    // Сколько ждать каждый раздел; не успевший раздел возвращается с ошибкой 504
+    private Duration sectionTimeout = Duration.ofSeconds(3);
+}
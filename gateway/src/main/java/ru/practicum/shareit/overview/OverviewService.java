@@ -0,0 +1,112 @@
+package ru.practicum.shareit.overview;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.client.JsonBody;
+import ru.practicum.shareit.client.deadline.DeadlineInterceptor;
+import ru.practicum.shareit.error.ErrorResponse;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.overview.dto.OverviewDto;
+import ru.practicum.shareit.overview.dto.OverviewSectionDto;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME;
+
+/**
+ * Собирает главный экран пользователя из шести запросов к серверу, выполняемых параллельно.
+ * Каждый раздел получает свой статус: ошибка или таймаут одного раздела не мешает остальным.
+ * Вызов сервера для раздела ограничен тем же сроком, что и раздел: не успевший раздел не держит поток пула
+ * и соединение дольше своего таймаута.
+ */
+@Slf4j
+@Service
+public class OverviewService {
+    private final UserClient userClient;
+    private final ItemClient itemClient;
+    private final BookingClient bookingClient;
+    private final ItemRequestClient itemRequestClient;
+    private final Executor executor;
+    private final ObjectMapper objectMapper;
+    private final long sectionTimeoutNanos;
+
+    public OverviewService(UserClient userClient, ItemClient itemClient, BookingClient bookingClient,
+                           ItemRequestClient itemRequestClient,
+                           @Qualifier(APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                           ObjectMapper objectMapper, OverviewProperties properties) {
+        this.userClient = userClient;
+        this.itemClient = itemClient;
+        this.bookingClient = bookingClient;
+        this.itemRequestClient = itemRequestClient;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.sectionTimeoutNanos = properties.getSectionTimeout().toNanos();
+    }
+
+    public OverviewDto getOverview(Long userId) {
+        CompletableFuture<OverviewSectionDto> user = section("user", () -> userClient.getUserById(userId));
+        CompletableFuture<OverviewSectionDto> items = section("items", () -> itemClient.getAllItemsForUser(userId));
+        CompletableFuture<OverviewSectionDto> current = section("currentBookings",
+                () -> bookingClient.getBookings(userId, "CURRENT"));
+        CompletableFuture<OverviewSectionDto> future = section("futureBookings",
+                () -> bookingClient.getBookings(userId, "FUTURE"));
+        CompletableFuture<OverviewSectionDto> waiting = section("waitingOwnerBookings",
+                () -> bookingClient.getOwnerBookings(userId, "WAITING"));
+        CompletableFuture<OverviewSectionDto> requests = section("requests",
+                () -> itemRequestClient.getUserRequests(userId));
+
+        // Разделы не завершаются исключением: ошибки уже превращены в статус раздела
+        return OverviewDto.builder()
+                .user(user.join())
+                .items(items.join())
+                .currentBookings(current.join())
+                .futureBookings(future.join())
+                .waitingOwnerBookings(waiting.join())
+                .requests(requests.join())
+                .build();
+    }
+
+    private CompletableFuture<OverviewSectionDto> section(String name, Supplier<ResponseEntity<Object>> call) {
+        long deadline = System.nanoTime() + sectionTimeoutNanos;
+        return CompletableFuture.supplyAsync(() -> toSection(DeadlineInterceptor.callBefore(deadline, call)), executor)
+                .orTimeout(sectionTimeoutNanos, TimeUnit.NANOSECONDS)
+                .exceptionally(e -> failedSection(name, e instanceof CompletionException ? e.getCause() : e));
+    }
+
+    private OverviewSectionDto toSection(ResponseEntity<Object> response) {
+        JsonNode body = JsonBody.of(objectMapper, response.getBody());
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return new OverviewSectionDto(response.getStatusCode().value(), body, null);
+        }
+        return new OverviewSectionDto(response.getStatusCode().value(), null, body);
+    }
+
+    private OverviewSectionDto failedSection(String name, Throwable e) {
+        HttpStatus status;
+        if (e instanceof TimeoutException) {
+            status = HttpStatus.GATEWAY_TIMEOUT;
+        } else if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        log.warn("Overview section {} failed: {}", name, e.toString());
+        String message = e instanceof TimeoutException ? "Section " + name + " timed out" : e.getMessage();
+        return new OverviewSectionDto(status.value(), null, objectMapper.valueToTree(new ErrorResponse(message)));
+    }
+}
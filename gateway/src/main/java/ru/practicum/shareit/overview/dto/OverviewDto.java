@@ -0,0 +1,15 @@
+package ru.practicum.shareit.overview.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class OverviewDto {
+    private OverviewSectionDto user;
+    private OverviewSectionDto items;
+    private OverviewSectionDto currentBookings;
+    private OverviewSectionDto futureBookings;
+    private OverviewSectionDto waitingOwnerBookings;
+    private OverviewSectionDto requests;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.overview.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OverviewSectionDto {
+    private int status;
+    // Ответ сервера при успехе
+    private JsonNode data;
+    // Описание ошибки (обычно в формате ErrorResponse), если раздел получить не удалось
+    private JsonNode error;
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.error.ErrorResponse;
+
+import java.io.IOException;
+
+/**
+ * Ограничивает частоту запросов каждого пользователя (X-Sharer-User-Id) по алгоритму token bucket
+ * с отдельными бюджетами на чтение и запись. При исчерпании бюджета отвечает 429 с Retry-After.
+ * Запросы без заголовка пользователя не ограничиваются, запросы с неположительным id отклоняются с 400.
+ * За POST /batch токен не списывается: каждый его подзапрос тратит токен чтения в BatchService.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "shareit-gateway.rate-limit", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String BATCH_PATH = "/batch";
+
+    private final UserRateLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(UserRateLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long userId = userId(request);
+        if (userId == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (userId <= 0) {
+            // Такого пользователя нет, а без проверки запрос попадал бы в чужую ячейку таблицы
+            error(response, HttpStatus.BAD_REQUEST, USER_HEADER + " must be positive");
+            return;
+        }
+        if (isBatch(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        int budget = isRead(request) ? UserRateLimiter.READ : UserRateLimiter.WRITE;
+        long result = limiter.tryAcquire(userId, budget);
+        if (result != UserRateLimiter.ALLOWED) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(UserRateLimiter.retryAfterSeconds(result)));
+            error(response, HttpStatus.TOO_MANY_REQUESTS, UserRateLimiter.message(budget, result));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void error(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(message));
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        String header = request.getHeader(USER_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            // Некорректный заголовок отклонит контроллер
+            return null;
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static boolean isBatch(HttpServletRequest request) {
+        return HttpMethod.POST.matches(request.getMethod()) && BATCH_PATH.equals(request.getRequestURI());
+    }
+}
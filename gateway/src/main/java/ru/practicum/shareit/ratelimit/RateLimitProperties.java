@@ -0,0 +1,32 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // Число ячеек таблицы пользователей; память не зависит от числа разных X-Sharer-User-Id
+    private int slots = 1 << 20;
+    // Через сколько без запросов ячейку пользователя можно отдать другому
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    // Бюджет GET/HEAD-запросов
+    private Budget read = new Budget(50, 20);
+    // Бюджет изменяющих запросов
+    private Budget write = new Budget(10, 2);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+        // Размер корзины: сколько запросов можно сделать подряд
+        private long capacity;
+        // Скорость пополнения корзины, запросов в секунду
+        private long refillPerSecond;
+    }
+}
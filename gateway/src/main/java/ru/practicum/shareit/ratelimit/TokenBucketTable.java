@@ -0,0 +1,178 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Таблица token bucket'ов фиксированного размера с открытой адресацией, без блокировок.
+ * На пользователя приходится 8 байт ключа и по 8 байт состояния на каждый бюджет:
+ * в одном long упакованы остаток токенов (в тысячных долях) и время последнего пополнения.
+ * Память ограничена ёмкостью таблицы; ячейки простаивающих пользователей переиспользуются новыми.
+ * Ключ ячейки - id пользователя плюс один, поэтому ключи 0 (пустая ячейка) и -1 (ячейка захватывается)
+ * не совпадают ни с одним допустимым id.
+ */
+public class TokenBucketTable {
+    public static final long ALLOWED = 0;
+    // Запрос нельзя отнести ни к одной ячейке: таблица в окне пробирования занята активными пользователями
+    public static final long UNTRACKED = -1;
+
+    private static final int TIME_BITS = 44;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long MILLI = 1000;
+    private static final long MAX_MILLI_TOKENS = (1L << (Long.SIZE - TIME_BITS)) - 1;
+    private static final int MAX_PROBES = 8;
+    private static final long EMPTY = 0;
+    private static final long CLAIMING = -1;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray states;
+    private final int mask;
+    private final int budgets;
+    private final long[] capacities;
+    private final long[] refillPerSecond;
+    private final long idleMillis;
+    private final LongSupplier clock;
+    private final long epoch;
+
+    /**
+     * Создаёт таблицу.
+     *
+     * @param slots           число ячеек, округляется вверх до степени двойки
+     * @param capacities      размер корзины (burst) для каждого бюджета, в токенах
+     * @param refillPerSecond скорость пополнения каждого бюджета, токенов в секунду
+     * @param idleMillis      через сколько без запросов ячейку пользователя можно отдать другому
+     * @param clock           источник времени в миллисекундах
+     */
+    public TokenBucketTable(int slots, long[] capacities, long[] refillPerSecond, long idleMillis,
+                            LongSupplier clock) {
+        int size = Math.max(MAX_PROBES, Integer.highestOneBit(Math.max(1, slots - 1)) << 1);
+        for (long capacity : capacities) {
+            if (capacity <= 0 || capacity * MILLI > MAX_MILLI_TOKENS) {
+                throw new IllegalArgumentException("Bucket capacity must be between 1 and "
+                        + MAX_MILLI_TOKENS / MILLI);
+            }
+        }
+        this.keys = new AtomicLongArray(size);
+        this.budgets = capacities.length;
+        this.states = new AtomicLongArray(size * budgets);
+        this.mask = size - 1;
+        this.capacities = capacities.clone();
+        this.refillPerSecond = refillPerSecond.clone();
+        this.idleMillis = idleMillis;
+        this.clock = clock;
+        // Нулевое время в состоянии означает "полная корзина", поэтому отсчёт ведётся с единицы
+        this.epoch = clock.getAsLong() - 1;
+    }
+
+    public int capacity() {
+        return keys.length();
+    }
+
+    /**
+     * Забирает токен из бюджета пользователя.
+     *
+     * @param userId неотрицательный id пользователя
+     * @return {@link #ALLOWED}, {@link #UNTRACKED} или число миллисекунд до появления токена
+     */
+    public long tryAcquire(long userId, int budget) {
+        if (userId < 0) {
+            throw new IllegalArgumentException("User id must not be negative: " + userId);
+        }
+        long now = now();
+        int slot = slotFor(userId + 1, now);
+        if (slot < 0) {
+            return UNTRACKED;
+        }
+        int index = slot * budgets + budget;
+        long capacity = capacities[budget] * MILLI;
+        long rate = refillPerSecond[budget];
+        while (true) {
+            long state = states.get(index);
+            long tokens = available(state, now, capacity, rate);
+            if (tokens < MILLI) {
+                return Math.max(1, (MILLI - tokens + rate - 1) / Math.max(1, rate));
+            }
+            if (states.compareAndSet(index, state, pack(tokens - MILLI, now))) {
+                return ALLOWED;
+            }
+        }
+    }
+
+    private int slotFor(long key, long now) {
+        int start = mix(key) & mask;
+        int idleSlot = -1;
+        long idleKey = EMPTY;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (start + probe) & mask;
+            long current = keys.get(slot);
+            while (current == CLAIMING) {
+                // Другой поток сбрасывает состояние ячейки для нового владельца: это несколько записей
+                Thread.onSpinWait();
+                current = keys.get(slot);
+            }
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                if (keys.compareAndSet(slot, EMPTY, key)) {
+                    return slot;
+                }
+                if (keys.get(slot) == key) {
+                    return slot;
+                }
+            } else if (idleSlot < 0 && isIdle(slot, now)) {
+                idleSlot = slot;
+                idleKey = current;
+            }
+        }
+        if (idleSlot >= 0 && keys.compareAndSet(idleSlot, idleKey, CLAIMING)) {
+            // Пока ячейка захвачена, её никто не читает и не меняет: прежний владелец мог обратиться
+            // между проверкой простоя и захватом, тогда ячейка остаётся ему
+            if (!isIdle(idleSlot, now)) {
+                keys.set(idleSlot, idleKey);
+                return -1;
+            }
+            for (int budget = 0; budget < budgets; budget++) {
+                states.set(idleSlot * budgets + budget, 0);
+            }
+            keys.set(idleSlot, key);
+            return idleSlot;
+        }
+        return -1;
+    }
+
+    private boolean isIdle(int slot, long now) {
+        for (int budget = 0; budget < budgets; budget++) {
+            long touched = states.get(slot * budgets + budget) & TIME_MASK;
+            if (touched != 0 && now - touched < idleMillis) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long now() {
+        return Math.max(1, clock.getAsLong() - epoch) & TIME_MASK;
+    }
+
+    private static long available(long state, long now, long capacity, long rate) {
+        long touched = state & TIME_MASK;
+        if (touched == 0) {
+            return capacity;
+        }
+        long tokens = state >>> TIME_BITS;
+        // rate токенов в секунду = rate тысячных долей токена в миллисекунду;
+        // за capacity миллисекунд корзина заведомо наполняется, дальше считать незачем
+        long elapsed = Math.min(capacity, Math.max(0, now - touched));
+        return Math.min(capacity, tokens + elapsed * rate);
+    }
+
+    private static long pack(long milliTokens, long now) {
+        return (milliTokens << TIME_BITS) | now;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Бюджеты чтения и записи пользователей (token bucket) с метриками gateway.ratelimit.requests.
+ * Списывает токены {@link RateLimitFilter} за входящие запросы и BatchService за подзапросы пакета.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit-gateway.rate-limit", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class UserRateLimiter {
+    public static final int READ = 0;
+    public static final int WRITE = 1;
+    public static final long ALLOWED = TokenBucketTable.ALLOWED;
+
+    private static final String[] BUDGETS = {"read", "write"};
+
+    private final TokenBucketTable buckets;
+    private final Counter[] allowed = new Counter[BUDGETS.length];
+    private final Counter[] limited = new Counter[BUDGETS.length];
+    private final Counter[] untracked = new Counter[BUDGETS.length];
+
+    public UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.buckets = new TokenBucketTable(properties.getSlots(),
+                new long[]{properties.getRead().getCapacity(), properties.getWrite().getCapacity()},
+                new long[]{properties.getRead().getRefillPerSecond(), properties.getWrite().getRefillPerSecond()},
+                properties.getIdleTimeout().toMillis(), System::currentTimeMillis);
+        for (int budget = 0; budget < BUDGETS.length; budget++) {
+            allowed[budget] = requests(meterRegistry, BUDGETS[budget], "allowed");
+            limited[budget] = requests(meterRegistry, BUDGETS[budget], "limited");
+            untracked[budget] = requests(meterRegistry, BUDGETS[budget], "untracked");
+        }
+        log.info("Rate limit table: {} slots", buckets.capacity());
+    }
+
+    /**
+     * Забирает токен из бюджета {@link #READ} или {@link #WRITE} пользователя.
+     *
+     * @param userId положительный id пользователя
+     * @return {@link #ALLOWED} или число миллисекунд до появления токена
+     */
+    public long tryAcquire(long userId, int budget) {
+        long result = buckets.tryAcquire(userId, budget);
+        if (result == TokenBucketTable.ALLOWED) {
+            allowed[budget].increment();
+        } else if (result == TokenBucketTable.UNTRACKED) {
+            // Таблица переполнена активными пользователями: лучше пропустить запрос, чем отказать
+            untracked[budget].increment();
+            return ALLOWED;
+        } else {
+            limited[budget].increment();
+            log.debug("Rate limit exceeded: userId={}, budget={}, retryAfter={}ms", userId, BUDGETS[budget],
+                    result);
+        }
+        return result;
+    }
+
+    /**
+     * Сообщение об исчерпанном бюджете для ответа 429.
+     */
+    public static String message(int budget, long retryAfterMillis) {
+        return "Too many " + BUDGETS[budget] + " requests, retry after " + retryAfterSeconds(retryAfterMillis)
+                + " s";
+    }
+
+    public static long retryAfterSeconds(long retryAfterMillis) {
+        return Math.max(1, (retryAfterMillis + 999) / 1000);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String budget, String result) {
+        return Counter.builder("gateway.ratelimit.requests")
+                .tag("budget", budget)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
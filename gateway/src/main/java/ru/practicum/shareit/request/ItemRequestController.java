@@ -40,9 +40,9 @@ public class ItemRequestController {
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @Valid @RequestBody ItemRequestDto itemRequestDto) {
-        log.info("==> Gateway: Creating itemRequest: {}", itemRequestDto);
+        log.debug("==> Gateway: Creating itemRequest: {}", itemRequestDto);
         ResponseEntity<Object> response = itemRequestClient.create(userId, itemRequestDto);
-        log.info("<== Gateway: Creating itemRequest: {}", response.getBody());
+        log.debug("<== Gateway: Creating itemRequest: {}", response.getStatusCode());
         return response;
     }
 }
@@ -30,21 +30,21 @@ public class UserController {
     @Validated({OnCreate.class})
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Object> create(@Valid @RequestBody UserRequestDto userDto) {
-        log.info("==> Gateway: Creating user: {}", userDto);
+        log.debug("==> Gateway: Creating user: {}", userDto);
 
         // Перенаправляем запрос на сервер
         ResponseEntity<Object> response = userClient.createUser(userDto);
 
-        log.info("<== Gateway: User created: {}", response.getBody());
+        log.debug("<== Gateway: User created: {}", response.getStatusCode());
         return response;
     }
 
     @PatchMapping("/{id}")
     public ResponseEntity<Object> update(@PathVariable("id") Long id, @Valid @RequestBody UserRequestDto newUserDto) {
-        log.info("==>Gateway:  Updating user: {}", newUserDto);
+        log.debug("==>Gateway:  Updating user: {}", newUserDto);
         // Перенаправляем запрос на сервер
         ResponseEntity<Object> response = userClient.updateUser(id, newUserDto);
-        log.info("<==Gateway:  Updating user: {}", response.getBody());
+        log.debug("<==Gateway:  Updating user: {}", response.getStatusCode());
         return response;
     }
 
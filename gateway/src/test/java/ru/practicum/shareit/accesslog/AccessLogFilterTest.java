@@ -0,0 +1,82 @@
+package ru.practicum.shareit.accesslog;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogFilterTest {
+    private final Logger access = (Logger) LoggerFactory.getLogger("access");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        access.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        access.detachAppender(appender);
+    }
+
+    private static AccessLogFilter filter(double sampleRate) {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setRoutes(Map.of("/items/{itemId}", 1.0));
+        return new AccessLogFilter(properties);
+    }
+
+    private static FilterChain controller(String route, int status) {
+        return (request, response) -> {
+            request.getInputStream().readAllBytes();
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+            ((HttpServletResponse) response).setStatus(status);
+        };
+    }
+
+    private static MockHttpServletRequest post(String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.addHeader("X-Sharer-User-Id", "7");
+        return request;
+    }
+
+    @Test
+    void testErrorIsLoggedWithRequestBody() throws Exception {
+        filter(0).doFilter(post("/bookings", "{\"itemId\":\"x\"}"), new MockHttpServletResponse(),
+                controller("/bookings", 400));
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.getFirst().getFormattedMessage())
+                .contains("\"route\":\"/bookings\"", "\"status\":400", "\"userId\":\"7\"", "\"reason\":\"error\"",
+                        "\"body\":\"{\\\"itemId\\\":\\\"x\\\"}\"");
+    }
+
+    @Test
+    void testSuccessIsSampledByRouteWithoutBody() throws Exception {
+        AccessLogFilter filter = filter(0);
+
+        filter.doFilter(post("/bookings", "{}"), new MockHttpServletResponse(), controller("/bookings", 201));
+        filter.doFilter(post("/items/1", "{\"name\":\"a\"}"), new MockHttpServletResponse(),
+                controller("/items/{itemId}", 200));
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.getFirst().getFormattedMessage())
+                .contains("\"route\":\"/items/{itemId}\"", "\"reason\":\"sampled\"")
+                .doesNotContain("\"body\"");
+    }
+}
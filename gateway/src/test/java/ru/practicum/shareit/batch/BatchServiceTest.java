@@ -0,0 +1,129 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+import ru.practicum.shareit.batch.dto.BatchSubRequestDto;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.ratelimit.UserRateLimiter;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchServiceTest {
+    private final UserClient userClient = mock(UserClient.class);
+    private final ItemClient itemClient = mock(ItemClient.class);
+    private final BookingClient bookingClient = mock(BookingClient.class);
+    private final ItemRequestClient itemRequestClient = mock(ItemRequestClient.class);
+    private final UserRateLimiter rateLimiter = mock(UserRateLimiter.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final BatchService batchService = new BatchService(
+            new BatchRoutes(userClient, itemClient, bookingClient, itemRequestClient), rateLimiter,
+            executor, new ObjectMapper(), new BatchProperties());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static ResponseEntity<Object> ok(String json) {
+        return ResponseEntity.ok(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testResultsKeepRequestOrderAndStatus() {
+        when(userClient.getUserById(1L)).thenReturn(ok("{\"id\":1}"));
+        when(bookingClient.getOwnerBookings(1L, "ALL")).thenReturn(ok("[]"));
+        when(itemClient.searchItems("дрель", 20, null, null)).thenReturn(ResponseEntity.ok()
+                .header("X-Next-Cursor", "next")
+                .body((Object) "[{\"id\":2}]".getBytes(StandardCharsets.UTF_8)));
+
+        List<BatchResultDto> results = batchService.execute(1L, List.of(
+                new BatchSubRequestDto("user", "/users/1"),
+                new BatchSubRequestDto("owner", "/bookings/owner"),
+                new BatchSubRequestDto("search", "/items/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C&limit=20"),
+                new BatchSubRequestDto("unknown", "/payments")));
+
+        assertThat(results).extracting(BatchResultDto::getId).containsExactly("user", "owner", "search", "unknown");
+        assertThat(results).extracting(BatchResultDto::getStatus).containsExactly(200, 200, 200, 404);
+        assertThat(results.get(0).getBody()).hasToString("{\"id\":1}");
+        assertThat(results.get(2).getBody()).hasToString("[{\"id\":2}]");
+        assertThat(results.get(2).getNextCursor()).isEqualTo("next");
+        assertThat(results.get(0).getNextCursor()).isNull();
+    }
+
+    @Test
+    void testInvalidSubRequestFailsAlone() {
+        when(userClient.findAll()).thenReturn(ok("[]"));
+        when(bookingClient.getBookings(null, "ALL")).thenReturn(ResponseEntity.status(HttpStatus.OK).build());
+
+        List<BatchResultDto> results = batchService.execute(null, List.of(
+                new BatchSubRequestDto("users", "/users"),
+                new BatchSubRequestDto("bookings", "/bookings"),
+                new BatchSubRequestDto("item", "/items/abc")));
+
+        assertThat(results).extracting(BatchResultDto::getStatus).containsExactly(200, 400, 400);
+        assertThat(results.get(1).getBody().toString()).contains("X-Sharer-User-Id");
+    }
+
+    @Test
+    void testSubRequestsRunConcurrently() {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(userClient.getUserById(anyLong())).thenAnswer(invocation -> {
+            allStarted.countDown();
+            // Подзапрос завершится, только если остальные уже выполняются одновременно с ним
+            return allStarted.await(5, TimeUnit.SECONDS) ? ok("{}") : ResponseEntity.internalServerError().build();
+        });
+
+        List<BatchResultDto> results = batchService.execute(null, List.of(
+                new BatchSubRequestDto("1", "/users/1"),
+                new BatchSubRequestDto("2", "/users/2"),
+                new BatchSubRequestDto("3", "/users/3")));
+
+        assertThat(results).extracting(BatchResultDto::getStatus).containsExactly(200, 200, 200);
+    }
+
+    @Test
+    void testEachSubRequestSpendsReadToken() {
+        when(userClient.getUserById(anyLong())).thenReturn(ok("{}"));
+        when(rateLimiter.tryAcquire(eq(1L), eq(UserRateLimiter.READ)))
+                .thenReturn(UserRateLimiter.ALLOWED, UserRateLimiter.ALLOWED, 1500L);
+
+        List<BatchResultDto> results = batchService.execute(1L, List.of(
+                new BatchSubRequestDto("1", "/users/1"),
+                new BatchSubRequestDto("2", "/users/2"),
+                new BatchSubRequestDto("3", "/users/3")));
+
+        assertThat(results).extracting(BatchResultDto::getStatus).containsExactlyInAnyOrder(200, 200, 429);
+        assertThat(results).filteredOn(result -> result.getStatus() == 429).singleElement()
+                .extracting(BatchResultDto::getBody).asString().contains("retry after 2 s");
+    }
+
+    @Test
+    void testQueryParametersDecodedAsForm() {
+        when(itemClient.searchItems("ударная дрель+", null, null, null)).thenReturn(ok("[]"));
+
+        List<BatchResultDto> results = batchService.execute(null, List.of(
+                new BatchSubRequestDto("search", "/items/search?text=%D1%83%D0%B4%D0%B0%D1%80%D0%BD%D0%B0%D1%8F"
+                        + "+%D0%B4%D1%80%D0%B5%D0%BB%D1%8C%2B"),
+                new BatchSubRequestDto("broken", "/items/search?text=%D1%8")));
+
+        assertThat(results).extracting(BatchResultDto::getStatus).containsExactly(200, 400);
+    }
+}
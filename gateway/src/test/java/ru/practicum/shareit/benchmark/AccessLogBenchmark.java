@@ -0,0 +1,182 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.FileAppender;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.accesslog.AccessLogFilter;
+import ru.practicum.shareit.accesslog.AccessLogProperties;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Цена журналирования запроса для потока, который его обрабатывает, при записи в файл из четырёх потоков:
+ * <ul>
+ *     <li>{@code none} - без журнала: только обработка запроса-заглушки, база для сравнения;</li>
+ *     <li>{@code sync-dto} - как раньше: DTO запроса и тело ответа на INFO через синхронный appender;</li>
+ *     <li>{@code async-all} - {@link AccessLogFilter} с записью каждого запроса через AsyncAppender;</li>
+ *     <li>{@code async-sampled} - {@link AccessLogFilter} с долей 10%, как в настройках по умолчанию.</li>
+ * </ul>
+ * Запуск: {@code mvn -pl gateway -Pbenchmark test-compile exec:exec -Dbenchmark=AccessLog}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class AccessLogBenchmark {
+    private static final String SPRING_BOOT_PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"none", "sync-dto", "async-all", "async-sampled"})
+    private String mode;
+
+    private Path logFile;
+    private Logger benchmarkLogger;
+    private Logger controllerLogger;
+    private Logger access;
+    private AccessLogFilter filter;
+    private BookingRequestDto dto;
+    private String responseBody;
+    private byte[] requestBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("access-log-benchmark", ".log");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(ch.qos.logback.classic.Level.WARN);
+
+        // Объём журнала за прогон выводится в консоль рядом с результатами JMH
+        benchmarkLogger = context.getLogger(AccessLogBenchmark.class);
+        benchmarkLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        benchmarkLogger.addAppender(consoleAppender(context));
+
+        controllerLogger = context.getLogger("ru.practicum.shareit.booking.BookingController");
+        controllerLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        controllerLogger.addAppender(fileAppender(context, SPRING_BOOT_PATTERN));
+
+        access = context.getLogger("access");
+        access.setLevel(ch.qos.logback.classic.Level.INFO);
+        access.setAdditive(false);
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(true);
+        async.addAppender(fileAppender(context, "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %msg%n"));
+        async.start();
+        access.addAppender(async);
+
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSampleRate("async-all".equals(mode) ? 1.0 : 0.1);
+        filter = new AccessLogFilter(properties);
+
+        dto = new BookingRequestDto();
+        dto.setItemId(42L);
+        dto.setStart(LocalDateTime.of(2030, 1, 1, 12, 0));
+        dto.setEnd(LocalDateTime.of(2030, 1, 5, 12, 0));
+        requestBody = "{\"itemId\":42,\"start\":\"2030-01-01T12:00:00\",\"end\":\"2030-01-05T12:00:00\"}"
+                .getBytes(StandardCharsets.UTF_8);
+        responseBody = "{\"id\":1,\"start\":\"2030-01-01T12:00:00\",\"end\":\"2030-01-05T12:00:00\","
+                + "\"item\":{\"id\":42,\"name\":\"Дрель\",\"description\":\"Мощная дрель с аккумулятором и кейсом\","
+                + "\"available\":true,\"requestId\":null},\"booker\":{\"id\":7,\"name\":\"Пользователь 7\","
+                + "\"email\":\"user7@mail.ru\"},\"status\":\"WAITING\"}";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        // Остановка appender-ов дописывает очередь AsyncAppender в файл
+        access.detachAndStopAllAppenders();
+        controllerLogger.detachAndStopAllAppenders();
+        benchmarkLogger.info("{}: {} bytes of log", mode, Files.size(logFile));
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public Object logRequest() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/bookings");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(requestBody);
+        request.addHeader("X-Sharer-User-Id", "7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (mode.startsWith("async")) {
+            filter.doFilter(request, response, controller());
+            return response;
+        }
+        controller().doFilter(request, response);
+        if ("sync-dto".equals(mode)) {
+            controllerLogger.info("==> Creating booking: {}", dto);
+            controllerLogger.info("<== Creating booking: {}", responseBody);
+        }
+        return response;
+    }
+
+    // Контроллер дочитывает тело и отвечает 201, как BookingController.create
+    private static FilterChain controller() {
+        return (request, response) -> {
+            request.getInputStream().readAllBytes();
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/bookings");
+            ((jakarta.servlet.http.HttpServletResponse) response).setStatus(201);
+        };
+    }
+
+    private static Appender<ILoggingEvent> consoleAppender(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+        ConsoleAppender<ILoggingEvent> appender = new ConsoleAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> fileAppender(LoggerContext context, String pattern) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(pattern);
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(logFile.toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+}
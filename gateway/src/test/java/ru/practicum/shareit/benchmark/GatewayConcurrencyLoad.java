@@ -0,0 +1,145 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Нагрузочный прогон шлюза на платформенных и на виртуальных потоках при одной и той же задержке сервера.
+ * Сервер подменяется заглушкой, которая отвечает с фиксированной задержкой, поэтому разница
+ * в пропускной способности показывает, сколько запросов шлюз способен держать одновременно.
+ * Запуск: {@code mvn -pl gateway test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ru.practicum.shareit.benchmark.GatewayConcurrencyLoad}
+ * Параметры: -Dconcurrency=400 -Drequests=4000 -Dlatency=200 -Dtomcat.threads=50
+ */
+@Slf4j
+public class GatewayConcurrencyLoad {
+    private static final byte[] STUB_BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("concurrency", 400);
+        int requests = Integer.getInteger("requests", 4000);
+        int latencyMillis = Integer.getInteger("latency", 200);
+        int tomcatThreads = Integer.getInteger("tomcat.threads", 50);
+
+        HttpServer stub = startStubServer(latencyMillis);
+        try {
+            String serverUrl = "http://localhost:" + stub.getAddress().getPort();
+            List<String> report = new ArrayList<>();
+            for (boolean virtual : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext gateway = startGateway(serverUrl, virtual, tomcatThreads)) {
+                    int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+                    URI uri = URI.create("http://localhost:" + port + "/users");
+                    // Прогрев
+                    run(uri, concurrency, concurrency);
+                    report.add((virtual ? "virtual " : "platform") + "  " + run(uri, concurrency, requests));
+                }
+            }
+            log.info("server latency {} ms, concurrency {}, tomcat threads {}\n{}",
+                    latencyMillis, concurrency, tomcatThreads, String.join("\n", report));
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private static HttpServer startStubServer(int latencyMillis) throws IOException {
+        // По умолчанию заглушка закрывает простаивающие соединения сверх 200, и пул шлюза натыкается на них
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "4000");
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, STUB_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(STUB_BODY);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static ConfigurableApplicationContext startGateway(String serverUrl, boolean virtual, int tomcatThreads) {
+        return new SpringApplicationBuilder(ShareItGateway.class)
+                .run("--server.port=0",
+                        "--shareit-server.url=" + serverUrl,
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--server.tomcat.threads.max=" + tomcatThreads,
+                        "--shareit-server.http.max-connections=2000",
+                        "--shareit-server.http.max-connections-per-route=2000",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum=WARN",
+                        "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+    }
+
+    private static String run(URI uri, int concurrency, int requests) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[requests];
+        List<Future<?>> futures = new ArrayList<>(requests);
+
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - start;
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Arrays.sort(latencies);
+        return String.format("throughput %7.1f req/s  p50 %6.1f ms  p99 %7.1f ms  errors %d",
+                requests / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99), errors.get());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(quantile * sorted.length))] / 1e6;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.validation.OnCreate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение пересылки тела запроса на сервер: повторная сериализация провалидированного DTO
+ * против пересылки исходных байтов.
+ * Запуск: {@code mvn -pl gateway -Pbenchmark test-compile exec:exec -Dbenchmark=RequestForwarding}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestForwardingBenchmark {
+
+    @Param({"item", "booking"})
+    private String payload;
+
+    private ObjectMapper objectMapper;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Class<?> dtoType;
+    private byte[] requestBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        if ("item".equals(payload)) {
+            dtoType = ItemRequestDto.class;
+            requestBytes = """
+                    {"name":"Дрель","description":"Мощная дрель с аккумулятором и кейсом",\
+                    "available":true,"requestId":12}""".getBytes(StandardCharsets.UTF_8);
+        } else {
+            dtoType = BookingRequestDto.class;
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            BookingRequestDto booking = new BookingRequestDto();
+            booking.setItemId(42L);
+            booking.setStart(start);
+            booking.setEnd(start.plusDays(2));
+            requestBytes = objectMapper.writeValueAsBytes(booking);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public void reserializeDto(Blackhole blackhole) throws IOException {
+        Object dto = objectMapper.readValue(new ByteArrayInputStream(requestBytes), dtoType);
+        blackhole.consume(validator.validate(dto, OnCreate.class));
+        blackhole.consume(objectMapper.writeValueAsBytes(dto));
+    }
+
+    @Benchmark
+    public void forwardRawBytes(Blackhole blackhole) throws IOException {
+        // Так же, как RawRequestBodyAdvice: тело читается в массив и разбирается из него
+        byte[] captured = new ByteArrayInputStream(requestBytes).readAllBytes();
+        Object dto = objectMapper.readValue(new ByteArrayInputStream(captured), dtoType);
+        blackhole.consume(validator.validate(dto, OnCreate.class));
+        blackhole.consume(captured);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientMetricsTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest, ServerCallMetrics metrics) {
+            super(rest, metrics);
+        }
+
+        ResponseEntity<Object> getItem(long userId, long itemId) {
+            return get("/" + itemId, userId);
+        }
+    }
+
+    @Test
+    void testServerCallsAreTimedByClientRouteAndStatus() {
+        RestTemplate rest = new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory("http://server/items"))
+                .build();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo("http://server/items/1")).andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://server/items/2")).andRespond(withStatus(HttpStatus.NOT_FOUND));
+        TestClient client = new TestClient(rest, new ServerCallMetrics(meterRegistry, new ServerRoutes("http://server")));
+
+        assertThat(client.getItem(1, 1).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(client.getItem(1, 2).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        server.verify();
+        for (String status : new String[]{"200", "404"}) {
+            assertThat(meterRegistry.get("gateway.server.calls")
+                    .tags("client", "TestClient", "method", "GET", "route", "/items/{id}", "status", status,
+                            "exception", "none")
+                    .timer()
+                    .count()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.client.balancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServerBalancerTest {
+    private static final URI FIRST = URI.create("http://localhost:9090");
+    private static final URI SECOND = URI.create("http://localhost:9091");
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ServerBalancer balancer() {
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setInstances(List.of(FIRST, SECOND));
+        properties.setConsecutiveErrors(3);
+        properties.setEjectionTime(Duration.ofSeconds(30));
+        properties.setSlowStart(Duration.ofSeconds(10));
+        return new ServerBalancer(properties, clock::get, meterRegistry);
+    }
+
+    private static ServerInstance instance(ServerBalancer balancer, URI uri) {
+        return balancer.instances().stream().filter(i -> i.uri().equals(uri)).findFirst().orElseThrow();
+    }
+
+    private void advance(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    void testLessLoadedInstanceIsChosen() {
+        ServerBalancer balancer = balancer();
+        ServerInstance first = instance(balancer, FIRST);
+        first.started();
+        first.started();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(balancer.choose().uri()).isEqualTo(SECOND);
+        }
+    }
+
+    @Test
+    void testEjectedInstanceReturnsWithSlowStart() {
+        ServerBalancer balancer = balancer();
+        ServerInstance first = instance(balancer, FIRST);
+        ServerInstance second = instance(balancer, SECOND);
+        for (int i = 0; i < 3; i++) {
+            balancer.onFailure(first);
+        }
+        assertThat(balancer.isAvailable(first)).isFalse();
+        assertThat(balancer.choose()).isSameAs(second);
+
+        advance(31);
+        // Сразу после возврата экземпляр получает 10% нагрузки: выигрывает только у загруженного соседа
+        for (int i = 0; i < 5; i++) {
+            second.started();
+        }
+        assertThat(balancer.choose()).isSameAs(second);
+        for (int i = 0; i < 5; i++) {
+            second.started();
+        }
+        assertThat(balancer.choose()).isSameAs(first);
+
+        advance(10);
+        second.finished();
+        assertThat(balancer.choose()).isSameAs(first);
+        assertThat(meterRegistry.counter("gateway.balancer.ejections", "instance", FIRST.toString(),
+                "reason", "errors").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testFailedHealthCheckEjectsUntilItPasses() {
+        ServerBalancer balancer = balancer();
+        ServerInstance first = instance(balancer, FIRST);
+        ServerInstance second = instance(balancer, SECOND);
+
+        balancer.onHealthCheck(second, false);
+        assertThat(balancer.choose()).isSameAs(first);
+
+        // Все экземпляры недоступны: запрос всё равно отправляется, а не отклоняется
+        balancer.onHealthCheck(first, false);
+        assertThat(balancer.choose()).isIn(first, second);
+
+        balancer.onHealthCheck(second, true);
+        assertThat(balancer.choose()).isSameAs(second);
+        assertThat(LoadBalancingClientHttpRequestFactory.target(SECOND, URI.create("http://server/items/1?text=a")))
+                .isEqualTo(URI.create("http://localhost:9091/items/1?text=a"));
+    }
+
+    @Test
+    void testFailuresOfEjectedInstanceDoNotExtendEjection() {
+        ServerBalancer balancer = balancer();
+        ServerInstance first = instance(balancer, FIRST);
+        for (int i = 0; i < 8; i++) {
+            balancer.onFailure(first);
+        }
+        assertThat(balancer.isAvailable(first)).isFalse();
+
+        advance(31);
+        assertThat(balancer.isAvailable(first)).isTrue();
+        // Ошибки во время исключения не накоплены: до нового исключения снова нужен полный порог
+        balancer.onFailure(first);
+        assertThat(balancer.isAvailable(first)).isTrue();
+        assertThat(meterRegistry.counter("gateway.balancer.ejections", "instance", FIRST.toString(),
+                "reason", "errors").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testTimeoutsDoNotEjectInstance() throws IOException {
+        ServerBalancer balancer = balancer();
+        ServerInstance first = instance(balancer, FIRST);
+        ServerInstance second = instance(balancer, SECOND);
+        balancer.onHealthCheck(second, false);
+        ClientHttpRequestFactory slow = (uri, method) -> new MockClientHttpRequest(method, uri) {
+            @Override
+            protected MockClientHttpResponse executeInternal() throws IOException {
+                if (uri.getPath().equals("/timeout")) {
+                    throw new SocketTimeoutException("Read timed out");
+                }
+                return new MockClientHttpResponse(new byte[0], HttpStatus.GATEWAY_TIMEOUT);
+            }
+        };
+        LoadBalancingClientHttpRequestFactory factory = new LoadBalancingClientHttpRequestFactory(slow, balancer);
+
+        for (int i = 0; i < 5; i++) {
+            factory.createRequest(URI.create("http://server/deadline"), HttpMethod.GET).execute().close();
+            assertThatThrownBy(() -> factory.createRequest(URI.create("http://server/timeout"), HttpMethod.GET)
+                    .execute()).isInstanceOf(SocketTimeoutException.class);
+        }
+
+        assertThat(balancer.isAvailable(first)).isTrue();
+        assertThat(first.outstanding()).isZero();
+        assertThat(meterRegistry.counter("gateway.balancer.timeouts", "instance", FIRST.toString()).count())
+                .isEqualTo(10.0);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class SmileProtocolInterceptorTest {
+    private static final String ITEMS_URL = "http://server/items";
+
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        rest = new RestTemplate();
+        rest.setInterceptors(List.of(new SmileProtocolInterceptor()));
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    @Test
+    void testSmileResponseTranscodedToJson() throws Exception {
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(List.of(
+                Map.of("id", 1, "name", "Дрель"),
+                Map.of("id", 2, "name", "Пила")));
+        server.expect(requestTo(ITEMS_URL))
+                .andExpect(header("Accept", "application/x-jackson-smile, application/json"))
+                .andRespond(withSuccess(smile, SmileProtocolInterceptor.APPLICATION_SMILE));
+
+        ResponseEntity<String> response = rest.exchange(ITEMS_URL, HttpMethod.GET, null, String.class);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(new ObjectMapper().readTree(response.getBody()))
+                .isEqualTo(new ObjectMapper().readTree("[{\"id\":1,\"name\":\"Дрель\"},{\"id\":2,\"name\":\"Пила\"}]"));
+        server.verify();
+    }
+
+    @Test
+    void testJsonResponsePassedThrough() {
+        server.expect(requestTo(ITEMS_URL))
+                .andRespond(withSuccess("{\"error\":\"User not found\"}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<String> response = rest.exchange(ITEMS_URL, HttpMethod.GET, null, String.class);
+
+        assertThat(response.getBody()).isEqualTo("{\"error\":\"User not found\"}");
+        server.verify();
+    }
+}
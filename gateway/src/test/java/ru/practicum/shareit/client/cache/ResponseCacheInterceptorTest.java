@@ -0,0 +1,142 @@
+package ru.practicum.shareit.client.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.ServerRoutes;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ResponseCacheInterceptorTest {
+    private static final String ITEM_URL = "http://server/items/1";
+
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+    private ResponseCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        rest = new RestTemplate();
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    private void addInterceptor() {
+        rest.setInterceptors(List.of(new ResponseCacheInterceptor(properties,
+                new ServerRoutes("http://server"), new ObjectMapper(), new SimpleMeterRegistry())));
+    }
+
+    private String getItem(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return rest.exchange(ITEM_URL, HttpMethod.GET, new HttpEntity<>(headers), String.class).getBody();
+    }
+
+    @Test
+    void testFreshResponseServedFromCache() {
+        addInterceptor();
+        server.expect(once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        assertThat(getItem(1)).isEqualTo("{\"id\":1}");
+        assertThat(getItem(1)).isEqualTo("{\"id\":1}");
+        server.verify();
+    }
+
+    @Test
+    void testCacheKeyDependsOnUser() {
+        addInterceptor();
+        server.expect(once(), requestTo(ITEM_URL)).andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"owner\":true}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(ITEM_URL)).andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess("{\"owner\":false}", MediaType.APPLICATION_JSON));
+
+        assertThat(getItem(1)).isEqualTo("{\"owner\":true}");
+        assertThat(getItem(2)).isEqualTo("{\"owner\":false}");
+        server.verify();
+    }
+
+    @Test
+    void testStaleResponseRevalidatedWithEtag() {
+        properties.setFreshFor(Duration.ZERO);
+        addInterceptor();
+        HttpHeaders etag = new HttpHeaders();
+        etag.setETag("\"v1\"");
+        server.expect(once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(etag));
+        server.expect(once(), requestTo(ITEM_URL)).andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        assertThat(getItem(1)).isEqualTo("{\"id\":1}");
+        assertThat(getItem(1)).isEqualTo("{\"id\":1}");
+        server.verify();
+    }
+
+    @Test
+    void testWriteMarksItemStale() {
+        addInterceptor();
+        server.expect(once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"name\":\"old\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(ITEM_URL)).andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess());
+        server.expect(once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"name\":\"new\"}", MediaType.APPLICATION_JSON));
+
+        assertThat(getItem(1)).isEqualTo("{\"name\":\"old\"}");
+        rest.exchange(ITEM_URL, HttpMethod.PATCH, HttpEntity.EMPTY, String.class);
+        assertThat(getItem(1)).isEqualTo("{\"name\":\"new\"}");
+        server.verify();
+    }
+
+    @Test
+    void testWriteLeavesOtherItemsFresh() {
+        addInterceptor();
+        server.expect(once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo("http://server/items/10")).andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess());
+        server.expect(once(), requestTo("http://server/users/1")).andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess());
+
+        assertThat(getItem(1)).isEqualTo("{\"id\":1}");
+        rest.exchange("http://server/items/10", HttpMethod.PATCH, HttpEntity.EMPTY, String.class);
+        rest.exchange("http://server/users/1", HttpMethod.PATCH, HttpEntity.EMPTY, String.class);
+        assertThat(getItem(1)).isEqualTo("{\"id\":1}");
+        server.verify();
+    }
+
+    @Test
+    void testBookingWriteMarksBookedItemStale() {
+        addInterceptor();
+        server.expect(once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"nextBooking\":null}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo("http://server/bookings/5?approved=true"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":5,\"itemId\":1}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"nextBooking\":{\"id\":5}}", MediaType.APPLICATION_JSON));
+
+        assertThat(getItem(1)).isEqualTo("{\"nextBooking\":null}");
+        assertThat(rest.exchange("http://server/bookings/5?approved=true", HttpMethod.PATCH, HttpEntity.EMPTY,
+                String.class).getBody()).isEqualTo("{\"id\":5,\"itemId\":1}");
+        assertThat(getItem(1)).isEqualTo("{\"nextBooking\":{\"id\":5}}");
+        server.verify();
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.client.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import ru.practicum.shareit.client.BufferedClientHttpResponse;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescingInterceptorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RequestCoalescingInterceptor interceptor(Duration followerTimeout) {
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setFollowerTimeout(followerTimeout);
+        return new RequestCoalescingInterceptor(properties, meterRegistry);
+    }
+
+    private static MockClientHttpRequest get(String uri) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(uri));
+    }
+
+    private static ClientHttpResponse ok(String body) {
+        return new BufferedClientHttpResponse(HttpStatus.OK, new HttpHeaders(),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(ClientHttpResponse response) throws Exception {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsShareOneCall() throws Exception {
+        RequestCoalescingInterceptor interceptor = interceptor(Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ClientHttpRequestExecution execution = (request, body) -> {
+            calls.incrementAndGet();
+            leaderStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ok("[1]");
+        };
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<ClientHttpResponse> leader = executor.submit(() ->
+                    interceptor.intercept(get("http://server/items/1"), new byte[0], execution));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            Future<ClientHttpResponse> follower = executor.submit(() ->
+                    interceptor.intercept(get("http://server/items/1"), new byte[0], execution));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(read(leader.get())).isEqualTo("[1]");
+            assertThat(read(follower.get())).isEqualTo("[1]");
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("gateway.coalescing.requests", "role", "follower").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void testFollowerGoesAloneWhenLeaderIsStuck() throws Exception {
+        RequestCoalescingInterceptor interceptor = interceptor(Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution stuck = (request, body) -> {
+            leaderStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ok("leader");
+        };
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<ClientHttpResponse> leader = executor.submit(() ->
+                    interceptor.intercept(get("http://server/items/1"), new byte[0], stuck));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+
+            ClientHttpResponse follower = interceptor.intercept(get("http://server/items/1"), new byte[0],
+                    (request, body) -> ok("own"));
+            assertThat(read(follower)).isEqualTo("own");
+
+            release.countDown();
+            assertThat(read(leader.get())).isEqualTo("leader");
+        }
+        assertThat(meterRegistry.counter("gateway.coalescing.requests", "role", "follower-timeout").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void testFollowerGetsLeaderErrorWithoutWaiting() throws Exception {
+        RequestCoalescingInterceptor interceptor = interceptor(Duration.ofSeconds(30));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution failing = (request, body) -> {
+            leaderStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new StackOverflowError();
+        };
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<ClientHttpResponse> leader = executor.submit(() ->
+                    interceptor.intercept(get("http://server/items/1"), new byte[0], failing));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            Future<ClientHttpResponse> follower = executor.submit(() ->
+                    interceptor.intercept(get("http://server/items/1"), new byte[0], failing));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        }
+        assertThat(meterRegistry.counter("gateway.coalescing.requests", "role", "follower").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void testWritesAreNotCoalesced() throws Exception {
+        RequestCoalescingInterceptor interceptor = interceptor(Duration.ofSeconds(1));
+        MockClientHttpRequest patch = new MockClientHttpRequest(HttpMethod.PATCH, URI.create("http://server/items/1"));
+
+        ClientHttpResponse response = interceptor.intercept(patch, new byte[0], (request, body) -> ok("patched"));
+
+        assertThat(read(response)).isEqualTo("patched");
+        assertThat(meterRegistry.counter("gateway.coalescing.requests", "role", "leader").count()).isZero();
+    }
+}
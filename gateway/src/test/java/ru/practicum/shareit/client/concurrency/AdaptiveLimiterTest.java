@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimiterTest {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveLimiter limiter(int initialLimit) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(10);
+        return new AdaptiveLimiter(properties, clock::get);
+    }
+
+    @Test
+    void testLimitGrowsWhileFastAndShrinksWhenLatencyRises() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(2);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire(0)).isTrue();
+            assertThat(limiter.tryAcquire(0)).isTrue();
+            clock.addAndGet(10 * MS);
+            limiter.onSuccess(10 * MS);
+            limiter.onSuccess(10 * MS);
+        }
+        int grown = limiter.limit();
+        assertThat(grown).isGreaterThan(2);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(0)).isTrue();
+            clock.addAndGet(50 * MS);
+            limiter.onSuccess(50 * MS);
+        }
+        assertThat(limiter.limit()).isLessThan(grown);
+        assertThat(limiter.inflight()).isZero();
+    }
+
+    @Test
+    void testQueuedRequestGetsReleasedPermitAndOthersTimeOut() throws Exception {
+        AdaptiveLimiter limiter = limiter(1);
+        assertThat(limiter.tryAcquire(0)).isTrue();
+        assertThat(limiter.tryAcquire(0)).isFalse();
+        assertThat(limiter.tryAcquire(TimeUnit.MILLISECONDS.toNanos(20))).isFalse();
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.tryAcquire(TimeUnit.SECONDS.toNanos(5));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (limiter.queued() == 0) {
+            Thread.onSpinWait();
+        }
+        limiter.release();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.inflight()).isEqualTo(1);
+        assertThat(limiter.queued()).isZero();
+    }
+
+    @Test
+    void testWeightedClassIsServedMoreOftenUnderContention() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        AdaptiveLimiter limiter = new AdaptiveLimiter(properties, new double[]{1, 4}, clock::get);
+        assertThat(limiter.tryAcquire(0)).isTrue();
+
+        List<Integer> granted = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        for (int priorityClass : new int[]{0, 0, 0, 0, 1, 1, 1, 1}) {
+            int queued = limiter.queued();
+            waiters.add(CompletableFuture.runAsync(() -> {
+                try {
+                    if (limiter.tryAcquire(priorityClass, TimeUnit.SECONDS.toNanos(5))) {
+                        granted.add(priorityClass);
+                        limiter.release();
+                    }
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            while (limiter.queued() == queued) {
+                Thread.onSpinWait();
+            }
+        }
+        assertThat(limiter.queued(1)).isEqualTo(4);
+        limiter.release();
+
+        CompletableFuture.allOf(waiters.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertThat(granted).containsExactly(1, 1, 1, 0, 1, 0, 0, 0);
+    }
+}
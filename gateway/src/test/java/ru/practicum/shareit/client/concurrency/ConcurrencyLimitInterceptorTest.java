@@ -0,0 +1,105 @@
+package ru.practicum.shareit.client.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.ServerRoutes;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ConcurrencyLimitInterceptorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testPrioritySheddingDoesNotLowerRouteLimit() {
+        ServerRoutes routes = new ServerRoutes("http://server");
+        PriorityProperties priority = new PriorityProperties();
+        priority.setMaxConcurrentCalls(1);
+        RestTemplate rest = new RestTemplate();
+        rest.setInterceptors(List.of(
+                new ConcurrencyLimitInterceptor(routes, new ConcurrencyLimitProperties(), new ObjectMapper(),
+                        meterRegistry),
+                new PriorityInterceptor(priority, routes, new ObjectMapper(), meterRegistry)));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        // Пока вызов вещи занимает единственное место, поиск получает 503 от PriorityInterceptor
+        server.expect(once(), requestTo("http://server/items/1")).andRespond(request -> {
+            for (int i = 0; i < 5; i++) {
+                assertThrows(HttpServerErrorException.ServiceUnavailable.class,
+                        () -> rest.getForObject("http://server/items/search?text=дрель", String.class));
+            }
+            return withSuccess("{}", MediaType.APPLICATION_JSON).createResponse(request);
+        });
+
+        rest.getForObject("http://server/items/1", String.class);
+
+        server.verify();
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauges())
+                .hasSize(2)
+                .extracting(Gauge::value)
+                .containsOnly(20.0);
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").gauges())
+                .extracting(Gauge::value)
+                .containsOnly(0.0);
+    }
+
+    @Test
+    void testPriorityQueueWaitDoesNotLowerRouteLimit() throws Exception {
+        ServerRoutes routes = new ServerRoutes("http://server");
+        PriorityProperties priority = new PriorityProperties();
+        priority.setMaxConcurrentCalls(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        RestTemplate rest = new RestTemplate((uri, method) -> new MockClientHttpRequest(method, uri) {
+            @Override
+            protected ClientHttpResponse executeInternal() throws IOException {
+                boolean holder = uri.getPath().startsWith("/users");
+                if (holder) {
+                    holding.countDown();
+                }
+                try {
+                    Thread.sleep(holder ? 150 : 20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new MockClientHttpResponse("{}".getBytes(), HttpStatus.OK);
+            }
+        });
+        rest.setInterceptors(List.of(
+                new ConcurrencyLimitInterceptor(routes, new ConcurrencyLimitProperties(), new ObjectMapper(),
+                        meterRegistry),
+                new PriorityInterceptor(priority, routes, new ObjectMapper(), meterRegistry)));
+        for (int i = 0; i < 3; i++) {
+            rest.getForObject("http://server/items/1", String.class);
+        }
+        // Сервер отвечает по вещи так же быстро, но единственное общее место занято вызовом пользователя
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(
+                () -> rest.getForObject("http://server/users/1", String.class));
+        assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+
+        rest.getForObject("http://server/items/1", String.class);
+
+        holder.get(1, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("gateway.concurrency.limit").tag("route", "/items/{id}").gauge().value())
+                .isEqualTo(20.0);
+        assertThat(meterRegistry.get("gateway.priority.wait").tag("class", "normal").timer().max(TimeUnit.MILLISECONDS))
+                .isGreaterThan(50.0);
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.client.hedging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import ru.practicum.shareit.client.ServerRoutes;
+import ru.practicum.shareit.client.deadline.DeadlineInterceptor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgingInterceptorTest {
+    private static final ClientHttpRequestExecution UNUSED = (request, body) -> {
+        throw new AssertionError("Hedging interceptor must send requests itself");
+    };
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HedgingInterceptor interceptor(ClientHttpRequestFactory factory, int budgetCapacity) {
+        HedgingProperties properties = new HedgingProperties();
+        properties.getRoutes().get("/items/{id}").setMaxDelay(Duration.ofMillis(50));
+        properties.setBudgetRatio(0);
+        properties.setBudgetCapacity(budgetCapacity);
+        return new HedgingInterceptor(factory, new ServerRoutes("http://server"), properties, meterRegistry);
+    }
+
+    // Фабрика, у которой n-й запрос отвечает через delays[n] мс или падает с ConnectException при delay < 0
+    private static ClientHttpRequestFactory server(AtomicInteger sent, List<Integer> delays) {
+        return (uri, method) -> {
+            int attempt = sent.getAndIncrement();
+            return new MockClientHttpRequest(method, uri) {
+                @Override
+                protected ClientHttpResponse executeInternal() throws IOException {
+                    int delay = delays.get(attempt);
+                    if (delay < 0) {
+                        throw new ConnectException("Connection refused");
+                    }
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new MockClientHttpResponse(("attempt-" + attempt).getBytes(StandardCharsets.UTF_8),
+                            HttpStatus.OK);
+                }
+            };
+        };
+    }
+
+    private static MockClientHttpRequest get(String uri) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(uri));
+    }
+
+    private static String read(ClientHttpResponse response) throws IOException {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testSlowPrimaryIsHedgedAndFasterHedgeWins() throws Exception {
+        AtomicInteger sent = new AtomicInteger();
+        HedgingInterceptor interceptor = interceptor(server(sent, List.of(500, 0)), 10);
+
+        ClientHttpResponse response = interceptor.intercept(get("http://server/items/1"), new byte[0], UNUSED);
+
+        assertThat(read(response)).isEqualTo("attempt-1");
+        assertThat(sent.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("gateway.hedging.hedges", "route", "/items/{id}", "winner", "hedge")
+                .count()).isEqualTo(1.0);
+        interceptor.destroy();
+    }
+
+    @Test
+    void testAttemptsKeepCallerDeadline() throws Exception {
+        AtomicInteger sent = new AtomicInteger();
+        ClientHttpRequestFactory server = server(sent, List.of(500, 0));
+        List<Long> deadlines = new CopyOnWriteArrayList<>();
+        // Фабрика запросов сервера берёт таймаут ответа из срока вызывающего кода в потоке попытки
+        HedgingInterceptor interceptor = interceptor((uri, method) -> {
+            deadlines.add(DeadlineInterceptor.callerDeadline());
+            return server.createRequest(uri, method);
+        }, 10);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+
+        ClientHttpResponse response = DeadlineInterceptor.callBefore(deadline, () -> {
+            try {
+                return interceptor.intercept(get("http://server/items/1"), new byte[0], UNUSED);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertThat(read(response)).isEqualTo("attempt-1");
+        assertThat(deadlines).containsExactly(deadline, deadline);
+    }
+
+    @Test
+    void testConnectionFailureIsRetriedWithinBudget() throws Exception {
+        AtomicInteger sent = new AtomicInteger();
+        HedgingInterceptor interceptor = interceptor(server(sent, List.of(-1, 0, -1, 0)), 1);
+
+        assertThat(read(interceptor.intercept(get("http://server/users/1"), new byte[0], UNUSED)))
+                .isEqualTo("attempt-1");
+        // Бюджет на один повтор израсходован: вторая ошибка соединения уходит вызывающему
+        assertThatThrownBy(() -> interceptor.intercept(get("http://server/users/1"), new byte[0], UNUSED))
+                .isInstanceOf(ConnectException.class);
+        assertThat(sent.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("gateway.retry.budget.exhausted", "route", "/users/{id}").count())
+                .isEqualTo(1.0);
+        interceptor.destroy();
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.client.knownusers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KnownUserIdsTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final TreeSet<Long> serverIds = new TreeSet<>();
+
+    private KnownUserIds knownUserIds() {
+        KnownUsersProperties properties = new KnownUsersProperties();
+        properties.setExpectedUsers(1_000);
+        properties.setPageSize(3);
+        properties.setNewIdWindow(10);
+        properties.setRefreshInterval(Duration.ofSeconds(1));
+        properties.setRebuildInterval(Duration.ofMinutes(1));
+        properties.setLateCommitWindow(Duration.ofSeconds(5));
+        KnownUserIds.IdPages pages = (after, limit) -> serverIds.tailSet(after, false).stream()
+                .limit(limit)
+                .mapToLong(Long::longValue)
+                .toArray();
+        return new KnownUserIds(properties, pages, clock::get, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testBloomFilterHasNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.add(id);
+        }
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(filter.mightContain(id)).isTrue();
+        }
+        long falsePositives = 0;
+        for (long id = 10_001; id <= 110_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(1_500);
+        assertThat(filter.bitSize()).isBetween(95_000L, 96_000L);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void testUnknownUntilLoadedThenRejectsMissingAndFarAheadIds() {
+        serverIds.addAll(List.of(1L, 2L, 4L, 5L, 7L));
+        KnownUserIds known = knownUserIds();
+        assertThat(known.isUnknown(3)).isFalse();
+
+        known.refresh();
+
+        assertThat(known.isUnknown(1)).isFalse();
+        assertThat(known.isUnknown(7)).isFalse();
+        assertThat(known.isUnknown(3)).isTrue();
+        assertThat(known.isUnknown(0)).isTrue();
+        // Мог появиться после загрузки
+        assertThat(known.isUnknown(17)).isFalse();
+        assertThat(known.isUnknown(18)).isTrue();
+
+        // Фильтр давно не обновлялся: id новее загруженных не отклоняются
+        clock.addAndGet(5_000);
+        assertThat(known.isUnknown(18)).isFalse();
+    }
+
+    @Test
+    void testNewUsersAreLoadedAndDeletedDisappearOnRebuild() {
+        serverIds.addAll(List.of(1L, 2L, 3L));
+        KnownUserIds known = knownUserIds();
+        known.refresh();
+
+        serverIds.remove(2L);
+        serverIds.add(40L);
+        clock.addAndGet(1_000);
+        known.refresh();
+        assertThat(known.isUnknown(40)).isFalse();
+        assertThat(known.isUnknown(2)).isFalse();
+
+        clock.addAndGet(60_000);
+        known.refresh();
+        assertThat(known.isUnknown(2)).isTrue();
+        assertThat(known.isUnknown(40)).isFalse();
+    }
+
+    @Test
+    void testIdCommittedLateIsLoadedWithinLateCommitWindow() {
+        serverIds.add(1L);
+        KnownUserIds known = knownUserIds();
+        known.refresh();
+
+        // Транзакция с id 50 зафиксировалась после того, как догрузка уже прочитала id 200
+        serverIds.add(200L);
+        clock.addAndGet(1_000);
+        known.refresh();
+        serverIds.add(50L);
+        assertThat(known.isUnknown(50)).isTrue();
+        clock.addAndGet(1_000);
+        known.refresh();
+        assertThat(known.isUnknown(50)).isFalse();
+        assertThat(known.isUnknown(51)).isTrue();
+
+        // Догрузки старше окна не перечитываются
+        serverIds.add(120L);
+        clock.addAndGet(6_000);
+        known.refresh();
+        assertThat(known.isUnknown(120)).isTrue();
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import ru.practicum.shareit.client.BufferedClientHttpResponse;
+import ru.practicum.shareit.client.ServerRoutes;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteResilienceInterceptorTest {
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private final RouteResilienceInterceptor interceptor = new RouteResilienceInterceptor(
+            new ServerRoutes("http://server"), circuitBreakers, bulkheads);
+
+    private static MockClientHttpRequest get(String uri) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(uri));
+    }
+
+    private static ClientHttpResponse status(HttpStatus status) {
+        return new BufferedClientHttpResponse(status, new HttpHeaders(), new byte[0]);
+    }
+
+    @Test
+    void testOpenCircuitFailsFastOnlyForItsRoute() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(get("http://server/bookings/owner?state=ALL"), new byte[0],
+                    (request, body) -> status(HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+
+        assertThat(circuitBreakers.circuitBreaker("/bookings/owner").getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> interceptor.intercept(get("http://server/bookings/owner"), new byte[0],
+                (request, body) -> status(HttpStatus.OK)))
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(interceptor.intercept(get("http://server/users/1"), new byte[0],
+                (request, body) -> status(HttpStatus.OK)).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenCircuit() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(get("http://server/items/" + i), new byte[0],
+                    (request, body) -> status(HttpStatus.NOT_FOUND));
+        }
+
+        assertThat(circuitBreakers.circuitBreaker("/items/{id}").getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void testFullBulkheadRejectsOnlyItsRoute() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution slow = (request, body) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return status(HttpStatus.OK);
+        };
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<ClientHttpResponse> stuck = executor.submit(() ->
+                    interceptor.intercept(get("http://server/bookings/owner"), new byte[0], slow));
+            started.await(5, TimeUnit.SECONDS);
+
+            assertThatThrownBy(() -> interceptor.intercept(get("http://server/bookings/owner"), new byte[0],
+                    (request, body) -> status(HttpStatus.OK)))
+                    .isInstanceOf(BulkheadFullException.class);
+            assertThat(interceptor.intercept(get("http://server/users"), new byte[0],
+                    (request, body) -> status(HttpStatus.OK)).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            release.countDown();
+            assertThat(stuck.get().getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+        assertThat(circuitBreakers.circuitBreaker("/bookings/owner").getMetrics().getNumberOfFailedCalls())
+                .isZero();
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.overview;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.client.ServerRoutes;
+import ru.practicum.shareit.client.deadline.DeadlineInterceptor;
+import ru.practicum.shareit.client.deadline.DeadlineProperties;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.overview.dto.OverviewDto;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OverviewServiceTest {
+    private final UserClient userClient = mock(UserClient.class);
+    private final ItemClient itemClient = mock(ItemClient.class);
+    private final BookingClient bookingClient = mock(BookingClient.class);
+    private final ItemRequestClient itemRequestClient = mock(ItemRequestClient.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(6);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private OverviewService service(Duration sectionTimeout) {
+        OverviewProperties properties = new OverviewProperties();
+        properties.setSectionTimeout(sectionTimeout);
+        return new OverviewService(userClient, itemClient, bookingClient, itemRequestClient, executor,
+                new ObjectMapper(), properties);
+    }
+
+    private static ResponseEntity<Object> json(HttpStatus status, String json) {
+        return ResponseEntity.status(status).body(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testSectionsDegradeIndependently() throws Exception {
+        when(userClient.getUserById(1L)).thenReturn(json(HttpStatus.OK, "{\"id\":1}"));
+        when(itemClient.getAllItemsForUser(1L)).thenReturn(json(HttpStatus.OK, "[]"));
+        when(bookingClient.getBookings(1L, "CURRENT")).thenReturn(json(HttpStatus.OK, "[{\"id\":5}]"));
+        when(bookingClient.getBookings(1L, "FUTURE"))
+                .thenReturn(json(HttpStatus.INTERNAL_SERVER_ERROR, "{\"error\":\"db\"}"));
+        when(bookingClient.getOwnerBookings(1L, "WAITING")).thenThrow(new ResourceAccessException("refused"));
+        when(itemRequestClient.getUserRequests(1L))
+                .thenReturn(json(HttpStatus.BAD_GATEWAY, "<html>502 Bad Gateway</html>"));
+
+        OverviewDto overview = service(Duration.ofSeconds(5)).getOverview(1L);
+
+        assertThat(overview.getUser().getData()).hasToString("{\"id\":1}");
+        assertThat(overview.getCurrentBookings().getData()).hasToString("[{\"id\":5}]");
+        assertThat(overview.getFutureBookings().getStatus()).isEqualTo(500);
+        assertThat(overview.getFutureBookings().getError()).hasToString("{\"error\":\"db\"}");
+        assertThat(overview.getWaitingOwnerBookings().getStatus()).isEqualTo(500);
+        assertThat(overview.getWaitingOwnerBookings().getError().toString()).contains("refused");
+        assertThat(overview.getRequests().getStatus()).isEqualTo(502);
+        assertThat(overview.getRequests().getError().asText()).isEqualTo("<html>502 Bad Gateway</html>");
+        assertThat(new ObjectMapper().readTree(new ObjectMapper().writeValueAsString(overview))
+                .at("/requests/error").asText()).isEqualTo("<html>502 Bad Gateway</html>");
+    }
+
+    @Test
+    void testSlowSectionTimesOut() {
+        when(userClient.getUserById(1L)).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return json(HttpStatus.OK, "{\"id\":1}");
+        });
+        when(itemClient.getAllItemsForUser(1L)).thenReturn(json(HttpStatus.OK, "[]"));
+
+        long start = System.nanoTime();
+        OverviewDto overview = service(Duration.ofMillis(200)).getOverview(1L);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(overview.getUser().getStatus()).isEqualTo(504);
+        assertThat(overview.getItems().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void testServerCallBudgetCappedBySectionTimeout() {
+        DeadlineInterceptor deadline = new DeadlineInterceptor(new ServerRoutes("http://server"),
+                new DeadlineProperties());
+        AtomicReference<Duration> budget = new AtomicReference<>();
+        when(userClient.getUserById(1L)).thenAnswer(invocation -> {
+            budget.set(deadline.budget(URI.create("http://server/users/1")));
+            return json(HttpStatus.OK, "{\"id\":1}");
+        });
+
+        service(Duration.ofMillis(300)).getOverview(1L);
+
+        assertThat(budget.get()).isPositive().isLessThanOrEqualTo(Duration.ofMillis(300));
+        assertThat(deadline.budget(URI.create("http://server/users/1"))).isEqualTo(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTableTest {
+    private static final int READ = 0;
+    private static final int WRITE = 1;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private TokenBucketTable table(int slots) {
+        return new TokenBucketTable(slots, new long[]{3, 1}, new long[]{2, 1}, 60_000, clock::get);
+    }
+
+    @Test
+    void testBurstThenRetryAfterUntilRefill() {
+        TokenBucketTable table = table(64);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(table.tryAcquire(1, READ)).isEqualTo(TokenBucketTable.ALLOWED);
+        }
+        assertThat(table.tryAcquire(1, READ)).isEqualTo(500);
+
+        clock.addAndGet(499);
+        assertThat(table.tryAcquire(1, READ)).isEqualTo(1);
+        clock.addAndGet(1);
+        assertThat(table.tryAcquire(1, READ)).isEqualTo(TokenBucketTable.ALLOWED);
+    }
+
+    @Test
+    void testBudgetsAndUsersAreIndependent() {
+        TokenBucketTable table = table(64);
+
+        assertThat(table.tryAcquire(1, WRITE)).isEqualTo(TokenBucketTable.ALLOWED);
+        assertThat(table.tryAcquire(1, WRITE)).isPositive();
+        assertThat(table.tryAcquire(1, READ)).isEqualTo(TokenBucketTable.ALLOWED);
+        assertThat(table.tryAcquire(2, WRITE)).isEqualTo(TokenBucketTable.ALLOWED);
+    }
+
+    @Test
+    void testIdleUsersGiveWayToNewOnes() {
+        TokenBucketTable table = table(8);
+        for (long userId = 0; userId < table.capacity(); userId++) {
+            assertThat(table.tryAcquire(userId, WRITE)).isEqualTo(TokenBucketTable.ALLOWED);
+        }
+        assertThat(table.tryAcquire(100, WRITE)).isEqualTo(TokenBucketTable.UNTRACKED);
+
+        clock.addAndGet(60_000);
+        assertThat(table.tryAcquire(100, WRITE)).isEqualTo(TokenBucketTable.ALLOWED);
+        assertThat(table.tryAcquire(100, WRITE)).isPositive();
+    }
+
+    @Test
+    void testNegativeUserIdRejected() {
+        TokenBucketTable table = table(8);
+
+        assertThatThrownBy(() -> table.tryAcquire(-1, READ)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(table.tryAcquire(Long.MAX_VALUE, WRITE)).isEqualTo(TokenBucketTable.ALLOWED);
+        assertThat(table.tryAcquire(Long.MAX_VALUE, WRITE)).isPositive();
+    }
+
+    @Test
+    void testReusedSlotStartsWithFullBucket() {
+        TokenBucketTable table = table(8);
+        for (long userId = 0; userId < table.capacity(); userId++) {
+            table.tryAcquire(userId, WRITE);
+        }
+
+        clock.addAndGet(60_000);
+        assertThat(table.tryAcquire(100, WRITE)).isEqualTo(TokenBucketTable.ALLOWED);
+        assertThat(table.tryAcquire(100, READ)).isEqualTo(TokenBucketTable.ALLOWED);
+        assertThat(table.tryAcquire(100, READ)).isEqualTo(TokenBucketTable.ALLOWED);
+        assertThat(table.tryAcquire(100, READ)).isEqualTo(TokenBucketTable.ALLOWED);
+        assertThat(table.tryAcquire(100, READ)).isPositive();
+    }
+}
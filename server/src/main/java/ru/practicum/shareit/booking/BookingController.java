@@ -30,9 +30,9 @@ public class BookingController {
     @ResponseStatus(HttpStatus.CREATED)
     public BookingDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
                              @RequestBody BookingCreateDto bookingDto) {
-        log.info("==> Creating booking: {}", bookingDto);
+        log.debug("==> Creating booking: {}", bookingDto);
         BookingDto booking = bookingService.create(userId, bookingDto);
-        log.info("<== Creating booking: {}", booking);
+        log.debug("<== Creating booking: {}", booking);
         return booking;
     }
 
@@ -75,4 +75,18 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findByItemIdIn(List<Long> itemIds);
 
+    // Число бронирований каждой вещи с заданными статусами; вещи без бронирований не возвращаются
+    @Query("""
+            SELECT b.item.id AS itemId, COUNT(b) AS bookings FROM Booking AS b
+            WHERE b.item.id IN :itemIds AND b.status IN :statuses
+            GROUP BY b.item.id
+            """)
+    List<ItemBookingCount> countByItemIds(@Param("itemIds") List<Long> itemIds,
+                                          @Param("statuses") List<BookingStatus> statuses);
+
+    interface ItemBookingCount {
+        Long getItemId();
+
+        Long getBookings();
+    }
 }
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Журнал доступа сервера: строка JSON на запрос в асинхронный logger "access" (см. logback-spring.xml).
+ * Тела запросов здесь не пишутся - их для ошибок уже пишет журнал шлюза. Зато в строку попадает бюджет
+ * времени, который выделил шлюз ({@value DeadlineFilter#TIMEOUT_HEADER}), а запросы, не уложившиеся в него,
+ * пишутся всегда: шлюз к этому времени уже ответил клиенту, и работа сервера пропала впустую.
+ * Регистрируется в {@link WebConfig} раньше {@link DeadlineFilter}, чтобы видеть и его отказы.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+    private static final Logger ACCESS = LoggerFactory.getLogger("access");
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final double sampleRate;
+    private final Map<String, Double> routes;
+    private final int errorStatus;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.sampleRate = properties.getSampleRate();
+        this.routes = Map.copyOf(properties.getRoutes());
+        this.errorStatus = properties.getErrorStatus();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!ACCESS.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long duration = System.nanoTime() - start;
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            String route = route(request);
+            Long budgetMillis = budgetMillis(request);
+            String reason = reason(route, status, duration, budgetMillis);
+            if (reason != null) {
+                ACCESS.info(entry(request, route, status, duration, budgetMillis, reason));
+            }
+        }
+    }
+
+    private String reason(String route, int status, long durationNanos, Long budgetMillis) {
+        if (status >= errorStatus) {
+            return "error";
+        }
+        if (budgetMillis != null && durationNanos > TimeUnit.MILLISECONDS.toNanos(budgetMillis)) {
+            return "over-budget";
+        }
+        if (durationNanos >= slowThresholdNanos) {
+            return "slow";
+        }
+        double rate = routes.getOrDefault(route, sampleRate);
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate ? "sampled" : null;
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMATCHED_ROUTE : pattern.toString();
+    }
+
+    // Неразборчивый заголовок DeadlineFilter пропускает без срока, журнал тоже
+    private static Long budgetMillis(HttpServletRequest request) {
+        String header = request.getHeader(DeadlineFilter.TIMEOUT_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String entry(HttpServletRequest request, String route, int status, long durationNanos,
+                                Long budgetMillis, String reason) {
+        StringBuilder json = new StringBuilder(160);
+        json.append("{\"method\":\"").append(request.getMethod()).append('"');
+        field(json, "route", route);
+        field(json, "path", request.getRequestURI());
+        json.append(",\"status\":").append(status);
+        json.append(",\"durationMs\":").append(TimeUnit.NANOSECONDS.toMicros(durationNanos) / 1000.0);
+        if (budgetMillis != null) {
+            json.append(",\"budgetMs\":").append(budgetMillis);
+        }
+        field(json, "userId", request.getHeader(USER_HEADER));
+        field(json, "reason", reason);
+        return json.append('}').toString();
+    }
+
+    // Путь и заголовок приходят от клиента как есть, поэтому экранируются
+    private static void field(StringBuilder json, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        json.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.access-log")
+public class AccessLogProperties {
+    private boolean enabled = true;
+    // Доля успешных запросов, уложившихся в бюджет шлюза и в slow-threshold
+    private double sampleRate = 0.1;
+    // Доля по шаблону маршрута контроллера (/items/{itemId}), перекрывает sample-rate
+    private Map<String, Double> routes = new HashMap<>();
+    // Запросы с этим статусом и выше пишутся всегда
+    private int errorStatus = 400;
+    // Запросы дольше порога пишутся всегда, даже если шлюз не передал бюджет времени
+    private Duration slowThreshold = Duration.ofSeconds(1);
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Ограничивает таймаут транзакции оставшимся временем запроса. Spring переносит таймаут транзакции
+ * в таймаут каждого JDBC-запроса (Statement.setQueryTimeout) и не начинает новые запросы после его истечения,
+ * поэтому тяжёлые выборки отменяются, когда шлюз уже перестал ждать ответ.
+ */
+public class DeadlineAwareJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        if (!RequestDeadline.isSet()) {
+            return timeout;
+        }
+        RequestDeadline.check();
+        // Таймауты транзакции и JDBC задаются в целых секундах
+        long remainingSeconds = (RequestDeadline.remainingMillis() + 999) / 1000;
+        int deadlineTimeout = (int) Math.min(Integer.MAX_VALUE, remainingSeconds);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? deadlineTimeout : Math.min(timeout, deadlineTimeout);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.config;
+
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+/**
+ * Срок, к которому должен завершиться текущий запрос. Задаётся {@link DeadlineFilter}
+ * по заголовку шлюза и действует в потоке обработки запроса.
+ */
+public final class RequestDeadline {
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    static void start(long timeoutMillis) {
+        DEADLINE_NANOS.set(System.nanoTime() + timeoutMillis * 1_000_000);
+    }
+
+    static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    public static boolean isSet() {
+        return DEADLINE_NANOS.get() != null;
+    }
+
+    /**
+     * Оставшееся время в миллисекундах; {@link Long#MAX_VALUE}, если срок не задан.
+     */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? Long.MAX_VALUE : (deadline - System.nanoTime()) / 1_000_000;
+    }
+
+    /**
+     * Прерывает работу, если срок запроса уже истёк.
+     */
+    public static void check() {
+        if (remainingMillis() <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public WebConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    // Журнал доступа снаружи всех фильтров: в него попадают и отказы по сроку запроса
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-server.access-log", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLogProperties properties) {
+        FilterRegistrationBean<AccessLogFilter> registration =
+                new FilterRegistrationBean<>(new AccessLogFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // Бюджет времени от шлюза: ставится сразу после журнала, чтобы срок отсчитывался с начала обработки
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(ObjectMapper objectMapper) {
+        FilterRegistrationBean<DeadlineFilter> registration =
+                new FilterRegistrationBean<>(new DeadlineFilter(objectMapper));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // ETag по телу ответа: шлюз перепроверяет закэшированные вещи через If-None-Match и получает 304 без тела.
+    // ETag слабый: Tomcat не сжимает ответы с сильным ETag, а If-None-Match сравнивает теги по слабому правилу
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> itemsEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/items/*");
+        return registration;
+    }
+
+    // Бинарный Smile для шлюза: выбирается только по явному Accept: application/x-jackson-smile.
+    // Конвертер добавляется в конец списка, поэтому на Accept: */* по-прежнему отдаётся JSON
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        Jackson2ObjectMapperBuilder builder = objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::json);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build()));
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -18,6 +19,8 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemBookingsDto;
 import ru.practicum.shareit.item.dto.ItemInfoDto;
+import ru.practicum.shareit.item.dto.ItemSearchPage;
+import ru.practicum.shareit.item.dto.RankedSearchResult;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.validation.OnCreate;
 
@@ -29,6 +32,11 @@ import java.util.Collections;
 @RequiredArgsConstructor
 @RequestMapping("/items")
 public class ItemController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TRUNCATED_HEADER = "X-Search-Truncated";
+    private static final int DEFAULT_SEARCH_PAGE = 100;
+    private static final int MAX_SEARCH_PAGE = 500;
+
     private final ItemService itemService;
 
     @GetMapping
@@ -47,9 +55,9 @@ public class ItemController {
     @ResponseStatus(HttpStatus.CREATED)
     public ItemDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
                           @RequestBody ItemDto itemDto) {
-        log.info("==> Creating item: {}", itemDto);
+        log.debug("==> Creating item: {}", itemDto);
         ItemDto item = itemService.create(userId, itemDto);
-        log.info("<== Creating item: {}", item);
+        log.debug("<== Creating item: {}", item);
         return item;
     }
 
@@ -57,19 +65,47 @@ public class ItemController {
     public ItemDto update(@RequestHeader("X-Sharer-User-Id") Long userId,
                           @PathVariable("itemId") Long id,
                           @RequestBody ItemDto itemDto) {
-        log.info("==> Updating item with ID: {} for user ID: {}", id, userId);
+        log.debug("==> Updating item with ID: {} for user ID: {}", id, userId);
         ItemDto updatedItem = itemService.update(userId, id, itemDto);
-        log.info("<== Updated item: {}", updatedItem);
+        log.debug("<== Updated item: {}", updatedItem);
         return updatedItem;
     }
 
+    // Поиск отдаётся страницами по limit вещей (не больше MAX_SEARCH_PAGE); позиция следующей страницы -
+    // в заголовке X-Next-Cursor, его значение передаётся в параметре cursor.
+    // С ranked=true отдаются только limit самых релевантных вещей с баллами (score), без следующих страниц;
+    // заголовок X-Search-Truncated: true - лучшие выбраны только из первых max-candidates найденных вещей
     @GetMapping("/search")
-    public Collection<ItemDto> searchItems(@RequestParam String text) {
+    public ResponseEntity<Collection<? extends ItemDto>> searchItems(
+            @RequestParam String text,
+            @RequestParam(name = "limit", defaultValue = "" + DEFAULT_SEARCH_PAGE) int limit,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "ranked", defaultValue = "false") boolean ranked) {
         if (text == null || text.trim().isEmpty()) {
-            log.info("Запрос пустой, возвращаем пустой список");
-            return Collections.emptyList();
+            log.debug("Запрос пустой, возвращаем пустой список");
+            return ResponseEntity.ok(Collections.emptyList());
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit должен быть положительным");
+        }
+        if (ranked) {
+            if (cursor != null) {
+                throw new IllegalArgumentException("Ранжированный поиск отдаёт одну страницу, "
+                        + "cursor не поддерживается");
+            }
+            RankedSearchResult result = itemService.searchItemsRanked(text, Math.min(limit, MAX_SEARCH_PAGE));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (result.truncated()) {
+                response.header(TRUNCATED_HEADER, "true");
+            }
+            return response.body(result.items());
+        }
+        ItemSearchPage page = itemService.searchItems(text, cursor, Math.min(limit, MAX_SEARCH_PAGE));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
         }
-        return itemService.searchItems(text);
+        return response.body(page.items());
     }
 
     @PostMapping("/{itemId}/comment")
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.List;
+
+/**
+ * Страница результатов поиска; nextCursor - позиция следующей страницы или null, если эта последняя.
+ */
+public record ItemSearchPage(List<ItemDto> items, String nextCursor) {
+}
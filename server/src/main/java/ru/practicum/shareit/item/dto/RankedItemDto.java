@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class RankedItemDto extends ItemDto {
+    // Релевантность вещи запросу: чем больше, тем выше вещь в выдаче
+    private double score;
+
+    public RankedItemDto(ItemDto item, double score) {
+        super(item.getId(), item.getName(), item.getDescription(), item.getAvailable(), item.getRequestId());
+        this.score = score;
+    }
+}
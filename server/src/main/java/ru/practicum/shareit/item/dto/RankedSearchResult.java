@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.List;
+
+/**
+ * Результат ранжированного поиска; truncated - лучшие вещи выбраны не из всех найденных.
+ */
+public record RankedSearchResult(List<RankedItemDto> items, boolean truncated) {
+}
@@ -24,6 +24,7 @@ public interface ItemMapper {
     ItemDto toItemDto(Item item);
 
     // Преобразование ItemDto в Item
+    @Mapping(target = "id", ignore = true)
     @Mapping(target = "owner", ignore = true)
     @Mapping(target = "request", source = "requestId", qualifiedByName = "mapRequestIdToItemRequest")
     Item dtoToItem(ItemDto itemDto, @Context User user);
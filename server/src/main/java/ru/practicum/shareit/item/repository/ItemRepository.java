@@ -1,9 +1,13 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.IndexedItem;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -12,16 +16,100 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findByOwnerId(Long userId);
 
+    // Страница найденных вещей после вещи с id after (keyset): цена страницы не зависит от её номера
     @Query("""
             SELECT i FROM Item AS i
-            WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%'))
-            OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?1, '%'))
-            AND i.available = true
+            WHERE i.available = true
+            AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%'))
+            OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))
+            AND i.id > :after
+            ORDER BY i.id
             """)
-    List<Item> findItemsByText(String text);
+    List<Item> findItemsByText(@Param("text") String text, @Param("after") long after, Limit limit);
+
+    // Те же вещи, что и findItemsByText, без сущностей: кандидаты ранжирования в ItemRanker
+    // не остаются в контексте персистентности транзакции
+    @Query("""
+            SELECT new ru.practicum.shareit.item.search.IndexedItem(i.id, i.name, i.description, i.available, r.id)
+            FROM Item AS i LEFT JOIN i.request AS r
+            WHERE i.available = true
+            AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%'))
+            OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))
+            AND i.id > :after
+            ORDER BY i.id
+            """)
+    List<IndexedItem> findIndexedItemsByText(@Param("text") String text, @Param("after") long after, Limit limit);
+
+    // Те же вещи, что и findItemsByText, по убыванию сходства запроса со словами названия, затем описания;
+    // страница - после ранга rank и id after. Только PostgreSQL: word_similarity из pg_trgm, отбор по
+    // триграммным индексам из schema-postgresql.sql
+    @Query(value = """
+            SELECT s.id AS id, s.rank AS rank FROM (
+                SELECT i.id, GREATEST(2 * word_similarity(LOWER(:text), LOWER(i.name)),
+                word_similarity(LOWER(:text), LOWER(coalesce(i.description, '')))) AS rank
+                FROM items AS i
+                WHERE i.available = true
+                AND (LOWER(i.name) LIKE LOWER('%' || :text || '%')
+                OR LOWER(i.description) LIKE LOWER('%' || :text || '%'))
+            ) AS s
+            WHERE s.rank < :rank OR (s.rank = :rank AND s.id > :after)
+            ORDER BY s.rank DESC, s.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<RankedId> findItemsBySimilarity(@Param("text") String text, @Param("rank") double rank,
+                                         @Param("after") long after, @Param("limit") int limit);
+
+    // Только PostgreSQL: столбец search_vector и GIN-индекс создаёт schema-postgresql.sql.
+    // Страница - после ранга rank и id after
+    @Query(value = """
+            SELECT s.id AS id, s.rank AS rank FROM (
+                SELECT i.id, ts_rank(i.search_vector, q) AS rank
+                FROM items AS i, websearch_to_tsquery('russian', :text) AS q
+                WHERE i.available = true
+                AND i.search_vector @@ q
+            ) AS s
+            WHERE s.rank < :rank OR (s.rank = :rank AND s.id > :after)
+            ORDER BY s.rank DESC, s.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<RankedId> findItemsByFullText(@Param("text") String text, @Param("rank") double rank,
+                                       @Param("after") long after, @Param("limit") int limit);
+
+    // Те же вещи, что и findItemsByFullText, по возрастанию id и без ранга: кандидаты ранжирования в ItemRanker
+    @Query(value = """
+            SELECT i.id FROM items AS i
+            WHERE i.available = true
+            AND i.search_vector @@ websearch_to_tsquery('russian', :text)
+            AND i.id > :after
+            ORDER BY i.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findItemIdsByFullText(@Param("text") String text, @Param("after") long after,
+                                     @Param("limit") int limit);
+
+    // Страница вещей с id больше after для построения индекса поиска в памяти
+    @Query("""
+            SELECT new ru.practicum.shareit.item.search.IndexedItem(i.id, i.name, i.description, i.available, r.id)
+            FROM Item AS i LEFT JOIN i.request AS r
+            WHERE i.id > :after
+            ORDER BY i.id
+            """)
+    List<IndexedItem> findIndexedItemsAfter(@Param("after") long after, Limit limit);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.item.search.IndexedItem(i.id, i.name, i.description, i.available, r.id)
+            FROM Item AS i LEFT JOIN i.request AS r
+            WHERE i.id IN :ids
+            """)
+    List<IndexedItem> findIndexedItemsByIdIn(@Param("ids") Collection<Long> ids);
 
     List<Item> findAllByRequestIdIn(List<Long> requestIds);
 
     List<Item> findByRequestId(Long requestId);
 
+    interface RankedId {
+        Long getId();
+
+        Double getRank();
+    }
 }
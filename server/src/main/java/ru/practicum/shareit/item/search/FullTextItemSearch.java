@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск PostgreSQL по GIN-индексу: совпадают слова с учётом словоформ (русская и английская
+ * морфология), а не произвольные подстроки. Совпадения в названии весят больше, чем в описании.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit-server.search", name = "engine", havingValue = "full-text")
+public class FullTextItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<SearchHit> search(String text, SearchCursor after, int limit) {
+        List<ItemRepository.RankedId> page = itemRepository.findItemsByFullText(text, after.rank(), after.id(), limit);
+        return ItemSearch.load(itemRepository, page);
+    }
+
+    @Override
+    public List<IndexedItem> candidates(String text, long afterId, int limit) {
+        List<Long> ids = itemRepository.findItemIdsByFullText(text, afterId, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return itemRepository.findIndexedItemsByIdIn(ids).stream()
+                .sorted(Comparator.comparing(IndexedItem::id))
+                .toList();
+    }
+}
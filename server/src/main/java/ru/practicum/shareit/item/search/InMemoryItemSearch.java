@@ -0,0 +1,173 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск по индексу в памяти ({@link ItemTextIndex}) без обращения к БД. Индекс строится при старте,
+ * изменения этого экземпляра попадают в него после коммита транзакции, вещи других экземпляров
+ * дочитываются раз в refresh-interval, а раз в consistency-check-interval индекс строится заново и
+ * сверяется с текущим. Вещи, изменённые во время построения, перечитываются из БД перед заменой индекса:
+ * событие могло нести версию старше той, что уже прочитана. Пока первый индекс не построен, поиск идёт через LIKE.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit-server.search", name = "engine", havingValue = "memory")
+@EnableConfigurationProperties(InMemorySearchProperties.class)
+public class InMemoryItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+    private final InMemorySearchProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "item-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // id вещей, изменённых во время построения нового индекса; перед заменой индекса перечитываются из БД
+    private final Set<Long> changedDuringBuild = new HashSet<>();
+    private volatile ItemTextIndex index;
+    private boolean building;
+
+    public InMemoryItemSearch(ItemRepository itemRepository, InMemorySearchProperties properties) {
+        this.itemRepository = itemRepository;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.execute(this::rebuild);
+        long refresh = properties.getRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::loadNewItems, refresh, refresh, TimeUnit.MILLISECONDS);
+        long check = properties.getConsistencyCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::rebuild, check, check, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public List<SearchHit> search(String text, SearchCursor after, int limit) {
+        ItemTextIndex current = index;
+        if (current == null) {
+            return itemRepository.findItemsByText(text, after.id(), Limit.of(limit)).stream()
+                    .map(item -> new SearchHit(item, 0))
+                    .toList();
+        }
+        return current.search(text, after.id(), limit).stream()
+                .map(item -> new SearchHit(item.toItem(), 0))
+                .toList();
+    }
+
+    @Override
+    public List<IndexedItem> candidates(String text, long afterId, int limit) {
+        ItemTextIndex current = index;
+        if (current == null) {
+            return itemRepository.findIndexedItemsByText(text, afterId, Limit.of(limit));
+        }
+        return current.search(text, afterId, limit);
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        synchronized (changedDuringBuild) {
+            if (building) {
+                changedDuringBuild.add(event.item().id());
+            }
+            if (index != null) {
+                index.put(event.item());
+            }
+        }
+    }
+
+    // Новые вещи других экземпляров сервера: id выдаются по возрастанию, поэтому достаточно дочитать хвост
+    private void loadNewItems() {
+        ItemTextIndex current = index;
+        if (current == null) {
+            return;
+        }
+        try {
+            load(current, current.maxItemId());
+        } catch (RuntimeException e) {
+            log.warn("Failed to load new items into the search index", e);
+        }
+    }
+
+    void rebuild() {
+        try {
+            synchronized (changedDuringBuild) {
+                building = true;
+            }
+            ItemTextIndex rebuilt = new ItemTextIndex();
+            load(rebuilt, 0);
+            ItemTextIndex previous = swapAfterRereadingChanged(rebuilt);
+            // Сверка - полный проход по обоим индексам, поэтому идёт вне блокировки и не задерживает onItemChanged.
+            // Изменения, пришедшие уже после замены, могут попасть в число расхождений: оно только для журнала
+            if (previous == null) {
+                log.info("Item search index built: {} items", rebuilt.size());
+            } else {
+                long mismatches = mismatches(previous, rebuilt);
+                if (mismatches > 0) {
+                    log.warn("Item search index differed from the database in {} items, replaced", mismatches);
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (changedDuringBuild) {
+                changedDuringBuild.clear();
+                building = false;
+            }
+            log.warn("Failed to build the item search index", e);
+        }
+    }
+
+    // Вещи, изменённые во время построения, перечитываются вне блокировки, пока за время чтения не перестанут
+    // появляться новые; после этого индекс заменяется, и следующие изменения идут уже в него.
+    // Перечитанная строка не старше события: оно публикуется после фиксации транзакции
+    private ItemTextIndex swapAfterRereadingChanged(ItemTextIndex rebuilt) {
+        while (true) {
+            List<Long> changed;
+            synchronized (changedDuringBuild) {
+                if (changedDuringBuild.isEmpty()) {
+                    building = false;
+                    ItemTextIndex previous = index;
+                    index = rebuilt;
+                    return previous;
+                }
+                changed = List.copyOf(changedDuringBuild);
+                changedDuringBuild.clear();
+            }
+            itemRepository.findIndexedItemsByIdIn(changed).forEach(rebuilt::put);
+        }
+    }
+
+    private void load(ItemTextIndex target, long after) {
+        List<IndexedItem> page;
+        do {
+            page = itemRepository.findIndexedItemsAfter(after, Limit.of(properties.getPageSize()));
+            page.forEach(target::put);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == properties.getPageSize());
+    }
+
+    // Вещи, которых нет в одном из индексов или которые в них различаются
+    private static long mismatches(ItemTextIndex previous, ItemTextIndex rebuilt) {
+        long differing = rebuilt.ids().filter(id -> !rebuilt.get(id).equals(previous.get(id))).count();
+        return differing + previous.ids().filter(id -> rebuilt.get(id) == null).count();
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.search.memory")
+public class InMemorySearchProperties {
+    // Как часто дочитывать из БД вещи, созданные другими экземплярами сервера
+    private Duration refreshInterval = Duration.ofSeconds(5);
+    // Как часто сверять индекс со всей таблицей items и заменять его при расхождениях
+    private Duration consistencyCheckInterval = Duration.ofMinutes(10);
+    // Сколько строк читать из БД за один запрос при построении индекса
+    private int pageSize = 10000;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+/**
+ * Поля вещи, которые нужны поиску и ответу на него, без связей с пользователем и запросом.
+ */
+public record IndexedItem(Long id, String name, String description, Boolean available, Long requestId) {
+
+    public static IndexedItem of(Item item) {
+        return new IndexedItem(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequest() == null ? null : item.getRequest().getId());
+    }
+
+    public Item toItem() {
+        ItemRequest request = null;
+        if (requestId != null) {
+            request = new ItemRequest();
+            request.setId(requestId);
+        }
+        return new Item(id, name, description, available, null, request);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Вещь создана или изменена. Публикуется в транзакции сервиса, обрабатывается после её фиксации.
+ */
+public record ItemChangedEvent(IndexedItem item) {
+}
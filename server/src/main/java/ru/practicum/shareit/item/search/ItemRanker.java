@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Лучшие k вещей по релевантности среди найденных {@link ItemSearch}. Баллы складываются из совпадения
+ * в названии и в описании (целое слово ценится выше подстроки) и популярности вещи (число бронирований,
+ * кроме отклонённых и отменённых). Кандидаты читаются страницами проекций по id ({@link ItemSearch#candidates}),
+ * в памяти держится куча из k лучших, поэтому все найденные вещи целиком не сортируются и не хранятся - ни здесь,
+ * ни в контексте персистентности транзакции.
+ * Оцениваются не больше max-candidates вещей с наименьшими id; если найдено больше, результат помечается
+ * усечённым.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ItemRankingProperties.class)
+public class ItemRanker {
+    // Лучшая вещь первой: больше баллов, при равенстве меньше id
+    static final Comparator<SearchHit> BEST_FIRST = Comparator.comparingDouble(SearchHit::rank).reversed()
+            .thenComparing(hit -> hit.item().getId());
+
+    private static final List<BookingStatus> COUNTED_STATUSES = List.of(BookingStatus.WAITING,
+            BookingStatus.APPROVED);
+
+    private final ItemSearch itemSearch;
+    private final BookingRepository bookingRepository;
+    private final ItemRankingProperties properties;
+
+    public ItemRanker(ItemSearch itemSearch, BookingRepository bookingRepository, ItemRankingProperties properties) {
+        this.itemSearch = itemSearch;
+        this.bookingRepository = bookingRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Не больше k вещей по убыванию баллов; баллы - в {@link SearchHit#rank()}.
+     */
+    public RankedHits topK(String text, int k) {
+        String term = text.trim().toLowerCase(Locale.ROOT);
+        // Худшая из отобранных в вершине: её вытесняет кандидат лучше
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(k, BEST_FIRST.reversed());
+        long afterId = 0;
+        int seen = 0;
+        boolean more = true;
+        while (more && seen < properties.getMaxCandidates()) {
+            int pageSize = Math.min(properties.getCandidatePageSize(), properties.getMaxCandidates() - seen);
+            List<IndexedItem> page = itemSearch.candidates(text, afterId, pageSize);
+            Map<Long, Long> bookings = bookings(page);
+            for (IndexedItem item : page) {
+                double rank = score(term, item, bookings.getOrDefault(item.id(), 0L));
+                // Полей проекции хватает для ответа: сущности отобранных вещей не загружаются
+                SearchHit scored = new SearchHit(item.toItem(), rank);
+                if (top.size() < k) {
+                    top.add(scored);
+                } else if (BEST_FIRST.compare(scored, top.peek()) < 0) {
+                    top.poll();
+                    top.add(scored);
+                }
+            }
+            seen += page.size();
+            more = page.size() == pageSize;
+            if (more) {
+                afterId = page.get(page.size() - 1).id();
+            }
+        }
+        // Предел достигнут ровно на последней вещи - проверка одним кандидатом
+        boolean truncated = more && !itemSearch.candidates(text, afterId, 1).isEmpty();
+        if (truncated) {
+            log.debug("Ранжированы только первые {} кандидатов запроса '{}'", seen, text);
+        }
+        List<SearchHit> result = new ArrayList<>(top);
+        result.sort(BEST_FIRST);
+        return new RankedHits(result, truncated);
+    }
+
+    double score(String term, IndexedItem item, long bookings) {
+        double text = properties.getNameWeight() * match(term, item.name())
+                + properties.getDescriptionWeight() * match(term, item.description());
+        if (text == 0) {
+            // Запрос с % или _ совпал по шаблону LIKE, а не как подстрока
+            text = properties.getDescriptionWeight() * properties.getSubstringWeight();
+        }
+        return text + properties.getPopularityWeight() * Math.log1p(bookings);
+    }
+
+    private double match(String term, String field) {
+        if (field == null || term.isEmpty()) {
+            return 0;
+        }
+        String text = field.toLowerCase(Locale.ROOT);
+        int from = text.indexOf(term);
+        if (from < 0) {
+            return 0;
+        }
+        for (; from >= 0; from = text.indexOf(term, from + 1)) {
+            int end = from + term.length();
+            if ((from == 0 || !Character.isLetterOrDigit(text.charAt(from - 1)))
+                    && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)))) {
+                return properties.getExactWordWeight();
+            }
+        }
+        return properties.getSubstringWeight();
+    }
+
+    private Map<Long, Long> bookings(List<IndexedItem> page) {
+        if (page.isEmpty() || properties.getPopularityWeight() == 0) {
+            return Map.of();
+        }
+        List<Long> ids = page.stream().map(IndexedItem::id).toList();
+        return bookingRepository.countByItemIds(ids, COUNTED_STATUSES).stream()
+                .collect(Collectors.toMap(BookingRepository.ItemBookingCount::getItemId,
+                        BookingRepository.ItemBookingCount::getBookings));
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.search.ranking")
+public class ItemRankingProperties {
+    // Множители совпадения в названии и в описании
+    private double nameWeight = 2;
+    private double descriptionWeight = 1;
+    // Баллы за запрос, совпавший с целым словом, и за запрос, найденный внутри слова
+    private double exactWordWeight = 2;
+    private double substringWeight = 1;
+    // Множитель популярности: к баллам добавляется popularity-weight * ln(1 + число бронирований)
+    private double popularityWeight = 1;
+    // Сколько кандидатов читать за один запрос к поиску
+    private int candidatePageSize = 1000;
+    // Сколько кандидатов (в порядке поиска) оценивать не больше; ограничивает время на очень частых запросах
+    private int maxCandidates = 100_000;
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск доступных вещей по тексту в названии и описании. Реализация выбирается
+ * настройкой shareit-server.search.engine.
+ */
+public interface ItemSearch {
+
+    /**
+     * До limit вещей, следующих за after, в порядке этого поиска.
+     */
+    List<SearchHit> search(String text, SearchCursor after, int limit);
+
+    /**
+     * До limit тех же вещей, что находит {@link #search}, с id больше afterId, по возрастанию id.
+     * Кандидаты для {@link ItemRanker}: страница по id дешевле страницы ранжирующего запроса, который
+     * заново сортирует все совпадения. Кандидаты - проекции, а не сущности: ранжирование проходит
+     * все совпадения в одной транзакции, и сущности копились бы в её контексте персистентности.
+     */
+    default List<IndexedItem> candidates(String text, long afterId, int limit) {
+        return search(text, new SearchCursor(0, afterId), limit).stream()
+                .map(hit -> IndexedItem.of(hit.item()))
+                .toList();
+    }
+
+    // Вещи страницы ранжированного запроса, который возвращает только id и ранг
+    static List<SearchHit> load(ItemRepository itemRepository, List<ItemRepository.RankedId> ranked) {
+        List<Long> ids = ranked.stream().map(ItemRepository.RankedId::getId).toList();
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ranked.stream()
+                .filter(hit -> items.containsKey(hit.getId()))
+                .map(hit -> new SearchHit(items.get(hit.getId()), hit.getRank()))
+                .toList();
+    }
+}
@@ -0,0 +1,313 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+/**
+ * Инвертированный индекс триграмм по названию и описанию вещей для поиска подстроки в памяти.
+ * <p>
+ * Каждой версии вещи выдаётся номер документа по возрастанию, поэтому списки документов триграмм -
+ * отсортированные массивы int, которые только дописываются. При изменении вещи старый документ помечается
+ * удалённым, а списки очищаются от удалённых документов, когда тех становится больше живых.
+ * Кандидаты - пересечение списков триграмм запроса; каждый проверяется по тексту с семантикой
+ * {@code LOWER(поле) LIKE LOWER('%' || text || '%')} (включая {@code %}, {@code _} и экранирование {@code \}),
+ * поэтому результат совпадает с {@code ItemRepository.findItemsByText}. Запросы короче трёх символов
+ * проверяются перебором.
+ */
+public class ItemTextIndex {
+    static final int GRAM = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByItemId = new HashMap<>();
+    private Doc[] docs = new Doc[1024];
+    private int docCount;
+    private int deleted;
+    private long maxItemId;
+
+    /**
+     * Добавляет вещь или заменяет её прежнюю версию.
+     */
+    public void put(IndexedItem item) {
+        Doc doc = new Doc(item, lower(item.name()), lower(item.description()));
+        long[] grams = grams(doc);
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByItemId.get(item.id());
+            if (previous != null) {
+                if (docs[previous].item.equals(item)) {
+                    return;
+                }
+                docs[previous] = null;
+                deleted++;
+            }
+            int docId = append(doc);
+            docByItemId.put(item.id(), docId);
+            maxItemId = Math.max(maxItemId, item.id());
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(docId);
+            }
+            if (deleted > docByItemId.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public IndexedItem get(long itemId) {
+        lock.readLock().lock();
+        try {
+            Integer docId = docByItemId.get(itemId);
+            return docId == null ? null : docs[docId].item;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByItemId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long maxItemId() {
+        lock.readLock().lock();
+        try {
+            return maxItemId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Снимок id всех вещей индекса.
+     */
+    public LongStream ids() {
+        lock.readLock().lock();
+        try {
+            return LongStream.of(docByItemId.keySet().stream().mapToLong(Long::longValue).toArray());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Доступные вещи, в названии или описании которых есть text, по возрастанию id.
+     */
+    public List<IndexedItem> search(String text) {
+        return search(text, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Первые limit доступных вещей с id больше afterId, в названии или описании которых есть text,
+     * по возрастанию id. Полностью сортируются только отобранные вещи.
+     */
+    public List<IndexedItem> search(String text, long afterId, int limit) {
+        Matcher matcher = Matcher.of(lower(text));
+        // Куча с наибольшим id в вершине: вытесняется, когда найдено больше limit вещей
+        PriorityQueue<IndexedItem> top = new PriorityQueue<>(Comparator.comparing(IndexedItem::id).reversed());
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(matcher.literals);
+            if (candidates == null) {
+                for (int docId = 0; docId < docCount; docId++) {
+                    collect(docs[docId], matcher, afterId, limit, top);
+                }
+            } else {
+                for (int docId : candidates) {
+                    collect(docs[docId], matcher, afterId, limit, top);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<IndexedItem> result = new ArrayList<>(top);
+        result.sort(Comparator.comparing(IndexedItem::id));
+        return result;
+    }
+
+    // null - у запроса нет триграмм, нужен перебор всех документов
+    private int[] candidates(List<String> literals) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String literal : literals) {
+            for (int i = 0; i + GRAM <= literal.length(); i++) {
+                PostingList list = postings.get(gram(literal, i));
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] result = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            size = intersect(result, size, lists.get(i));
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // Пересечение отсортированных списков слиянием; результат пишется в начало target
+    private static int intersect(int[] target, int size, PostingList list) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size && j < list.size; i++) {
+            int docId = target[i];
+            while (j < list.size && list.docs[j] < docId) {
+                j++;
+            }
+            if (j < list.size && list.docs[j] == docId) {
+                target[kept++] = docId;
+            }
+        }
+        return kept;
+    }
+
+    private static void collect(Doc doc, Matcher matcher, long afterId, int limit, PriorityQueue<IndexedItem> top) {
+        if (doc != null && doc.item.id() > afterId && Boolean.TRUE.equals(doc.item.available())
+                && (top.size() < limit || doc.item.id() < top.peek().id())
+                && (matcher.matches(doc.name) || matcher.matches(doc.description))) {
+            top.add(doc.item);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+    }
+
+    private int append(Doc doc) {
+        if (docCount == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+        docs[docCount] = doc;
+        return docCount++;
+    }
+
+    // Перенумерация живых документов подряд и пересборка списков без удалённых
+    private void compact() {
+        Doc[] live = new Doc[Math.max(1024, Integer.highestOneBit(docByItemId.size()) << 1)];
+        int count = 0;
+        postings.clear();
+        docByItemId.clear();
+        for (int docId = 0; docId < docCount; docId++) {
+            Doc doc = docs[docId];
+            if (doc == null) {
+                continue;
+            }
+            int newId = count++;
+            live[newId] = doc;
+            docByItemId.put(doc.item.id(), newId);
+            for (long gram : grams(doc)) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(newId);
+            }
+        }
+        docs = live;
+        docCount = count;
+        deleted = 0;
+    }
+
+    private static long[] grams(Doc doc) {
+        long[] grams = new long[Math.max(0, doc.name.length() - GRAM + 1)
+                + Math.max(0, doc.description.length() - GRAM + 1)];
+        int count = 0;
+        for (String field : new String[]{doc.name, doc.description}) {
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                grams[count++] = gram(field, i);
+            }
+        }
+        return Arrays.stream(grams, 0, count).sorted().distinct().toArray();
+    }
+
+    // Три UTF-16 символа в одном long
+    private static long gram(String text, int from) {
+        return ((long) text.charAt(from) << 32) | ((long) text.charAt(from + 1) << 16) | text.charAt(from + 2);
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int docId) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = docId;
+        }
+    }
+
+    private record Doc(IndexedItem item, String name, String description) {
+    }
+
+    /**
+     * Шаблон LIKE '%text%': без {@code %} и {@code _} - поиск подстроки, иначе регулярное выражение.
+     * Буквальные куски шаблона дают триграммы для отбора кандидатов.
+     */
+    private static final class Matcher {
+        private final String literal;
+        private final Pattern pattern;
+        private final List<String> literals;
+
+        private Matcher(String literal, Pattern pattern, List<String> literals) {
+            this.literal = literal;
+            this.pattern = pattern;
+            this.literals = literals;
+        }
+
+        static Matcher of(String text) {
+            List<String> literals = new ArrayList<>();
+            StringBuilder regex = new StringBuilder();
+            StringBuilder current = new StringBuilder();
+            boolean wildcards = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\\' && i + 1 < text.length()) {
+                    current.append(text.charAt(++i));
+                } else if (c == '%' || c == '_') {
+                    wildcards = true;
+                    flush(current, regex, literals);
+                    regex.append(c == '%' ? ".*" : ".");
+                } else {
+                    current.append(c);
+                }
+            }
+            flush(current, regex, literals);
+            if (!wildcards) {
+                String literal = literals.isEmpty() ? "" : literals.get(0);
+                return new Matcher(literal, null, literals);
+            }
+            return new Matcher(null, Pattern.compile(regex.toString(), Pattern.DOTALL), literals);
+        }
+
+        private static void flush(StringBuilder current, StringBuilder regex, List<String> literals) {
+            if (!current.isEmpty()) {
+                literals.add(current.toString());
+                regex.append(Pattern.quote(current.toString()));
+                current.setLength(0);
+            }
+        }
+
+        boolean matches(String field) {
+            return pattern == null ? field.contains(Objects.requireNonNull(literal)) : pattern.matcher(field).find();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск подстроки через LIKE: работает в любой БД (в том числе H2 профиля test); на PostgreSQL запрос
+ * использует триграммные индексы из schema-postgresql.sql.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit-server.search", name = "engine", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<SearchHit> search(String text, SearchCursor after, int limit) {
+        return itemRepository.findItemsByText(text, after.id(), Limit.of(limit)).stream()
+                .map(item -> new SearchHit(item, 0))
+                .toList();
+    }
+
+    @Override
+    public List<IndexedItem> candidates(String text, long afterId, int limit) {
+        return itemRepository.findIndexedItemsByText(text, afterId, Limit.of(limit));
+    }
+}
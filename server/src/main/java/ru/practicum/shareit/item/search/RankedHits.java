@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+
+/**
+ * Лучшие вещи ранжированного поиска; truncated - оценены не все найденные вещи (упёрлись в max-candidates).
+ */
+public record RankedHits(List<SearchHit> hits, boolean truncated) {
+}
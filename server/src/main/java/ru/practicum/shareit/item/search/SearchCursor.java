@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Позиция в результатах поиска: ключ сортировки последней отданной вещи. Поиски по id используют только id,
+ * ранжирующие - ранг (по убыванию) и id. Клиенту отдаётся непрозрачной строкой.
+ */
+public record SearchCursor(double rank, long id) {
+    // Перед первой вещью любого поиска
+    public static final SearchCursor START = new SearchCursor(Double.MAX_VALUE, 0);
+
+    public static SearchCursor of(SearchHit hit) {
+        return new SearchCursor(hit.rank(), hit.item().getId());
+    }
+
+    /**
+     * @throws IllegalArgumentException если строка не получена из {@link #encode()}
+     */
+    public static SearchCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new SearchCursor(Double.parseDouble(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Некорректный курсор: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((rank + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Найденная вещь и её ранг; у поисков, упорядоченных по id, ранг 0.
+ */
+public record SearchHit(Item item, double rank) {
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск подстроки с теми же совпадениями, что и {@link LikeItemSearch}, но упорядоченный по сходству запроса
+ * со словами вещи (pg_trgm): точное слово выше фрагмента, совпадение в названии выше совпадения в описании.
+ * Только PostgreSQL.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit-server.search", name = "engine", havingValue = "trigram")
+public class TrigramItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<SearchHit> search(String text, SearchCursor after, int limit) {
+        List<ItemRepository.RankedId> page = itemRepository.findItemsBySimilarity(text, after.rank(), after.id(),
+                limit);
+        return ItemSearch.load(itemRepository, page);
+    }
+
+    // Совпадения те же, что у LIKE, поэтому кандидаты - страница findIndexedItemsByText по тем же триграммным
+    // индексам
+    @Override
+    public List<IndexedItem> candidates(String text, long afterId, int limit) {
+        return itemRepository.findIndexedItemsByText(text, afterId, Limit.of(limit));
+    }
+}
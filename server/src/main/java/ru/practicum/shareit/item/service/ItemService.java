@@ -4,8 +4,11 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemBookingsDto;
 import ru.practicum.shareit.item.dto.ItemInfoDto;
+import ru.practicum.shareit.item.dto.ItemSearchPage;
+import ru.practicum.shareit.item.dto.RankedSearchResult;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
     ItemDto create(Long userId, ItemDto itemDto);
@@ -14,7 +17,15 @@ public interface ItemService {
 
     ItemInfoDto getItemById(Long userId, Long itemId);
 
-    Collection<ItemDto> searchItems(String text);
+    /**
+     * Страница из не более чем limit найденных вещей после позиции cursor (null - первая страница).
+     */
+    ItemSearchPage searchItems(String text, String cursor, int limit);
+
+    /**
+     * Не больше limit найденных вещей по убыванию релевантности.
+     */
+    RankedSearchResult searchItemsRanked(String text, int limit);
 
     Collection<ItemBookingsDto> getAllItemsForUser(Long userId);
 
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.service;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDateDto;
@@ -14,12 +15,22 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemBookingsDto;
 import ru.practicum.shareit.item.dto.ItemInfoDto;
+import ru.practicum.shareit.item.dto.ItemSearchPage;
+import ru.practicum.shareit.item.dto.RankedItemDto;
+import ru.practicum.shareit.item.dto.RankedSearchResult;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.IndexedItem;
+import ru.practicum.shareit.item.search.ItemChangedEvent;
+import ru.practicum.shareit.item.search.ItemRanker;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.RankedHits;
+import ru.practicum.shareit.item.search.SearchCursor;
+import ru.practicum.shareit.item.search.SearchHit;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -45,6 +56,9 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearch itemSearch;
+    private final ItemRanker itemRanker;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     @Override
@@ -61,6 +75,7 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(itemRequest);
         }
         Item savedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(IndexedItem.of(savedItem)));
         return itemMapper.toItemDto(savedItem);
     }
 
@@ -83,6 +98,7 @@ public class ItemServiceImpl implements ItemService {
             existingItem.setAvailable(itemDto.getAvailable());
         }
         Item updateItem = itemRepository.save(existingItem);
+        eventPublisher.publishEvent(new ItemChangedEvent(IndexedItem.of(updateItem)));
         return itemMapper.toItemDto(updateItem);
     }
 
@@ -141,15 +157,34 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public Collection<ItemDto> searchItems(String text) {
+    public ItemSearchPage searchItems(String text, String cursor, int limit) {
         if (text == null || text.trim().isEmpty()) {
-            log.info("Запрос пустой, возвращаем пустой список");
-            return Collections.emptyList();
+            log.debug("Запрос пустой, возвращаем пустой список");
+            return new ItemSearchPage(Collections.emptyList(), null);
         }
-        return itemRepository.findItemsByText(text).stream()
-                .filter(Item::getAvailable)
-                .map(itemMapper::toItemDto)
-                .toList();
+        SearchCursor after = cursor == null ? SearchCursor.START : SearchCursor.decode(cursor);
+        // Лишняя вещь показывает, есть ли следующая страница
+        List<SearchHit> hits = itemSearch.search(text, after, limit + 1);
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            nextCursor = SearchCursor.of(hits.get(limit - 1)).encode();
+        }
+        return new ItemSearchPage(hits.stream()
+                .map(hit -> itemMapper.toItemDto(hit.item()))
+                .toList(), nextCursor);
+    }
+
+    @Override
+    public RankedSearchResult searchItemsRanked(String text, int limit) {
+        if (text == null || text.trim().isEmpty()) {
+            log.debug("Запрос пустой, возвращаем пустой список");
+            return new RankedSearchResult(Collections.emptyList(), false);
+        }
+        RankedHits ranked = itemRanker.topK(text, limit);
+        return new RankedSearchResult(ranked.hits().stream()
+                .map(hit -> new RankedItemDto(itemMapper.toItemDto(hit.item()), hit.rank()))
+                .toList(), ranked.truncated());
     }
 
     private void checkUserId(Long userId) {
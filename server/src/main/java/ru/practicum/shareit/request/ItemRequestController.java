@@ -42,9 +42,9 @@ public class ItemRequestController {
     @ResponseStatus(HttpStatus.CREATED)
     public ItemRequestDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                  @RequestBody ItemRequestDto itemRequestDto) {
-        log.info("==> Creating itemRequest: {}", itemRequestDto);
+        log.debug("==> Creating itemRequest: {}", itemRequestDto);
         ItemRequestDto itemRequest = itemRequestService.create(userId, itemRequestDto);
-        log.info("<== Creating itemRequest: {}", itemRequest);
+        log.debug("<== Creating itemRequest: {}", itemRequest);
         return itemRequest;
     }
 }
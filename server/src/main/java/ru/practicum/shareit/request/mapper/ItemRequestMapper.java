@@ -15,6 +15,7 @@ public interface ItemRequestMapper {
     @Named("toItemRequestDto")
     ItemRequestDto toItemRequestDto(ItemRequest itemRequest);
 
+    @Mapping(target = "id", ignore = true)
     @Mapping(target = "created", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "requestor", expression = "java(user)")
     ItemRequest dtoToItemRequest(ItemRequestDto itemRequestDto, @Context User user);
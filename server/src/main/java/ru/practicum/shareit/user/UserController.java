@@ -10,18 +10,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/users")
 public class UserController {
+    private static final int MAX_IDS_PAGE = 10_000;
+
     private final UserService userService;
 
     @GetMapping
@@ -29,6 +33,17 @@ public class UserController {
         return userService.findAll();
     }
 
+    // Идентификаторы пользователей по возрастанию, страницами после after: по ним шлюз строит
+    // фильтр известных пользователей (полностью и догружая новых)
+    @GetMapping("/ids")
+    public List<Long> findIds(@RequestParam(name = "after", defaultValue = "0") long after,
+                              @RequestParam(name = "limit", defaultValue = "" + MAX_IDS_PAGE) int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit должен быть положительным");
+        }
+        return userService.findIdsAfter(after, Math.min(limit, MAX_IDS_PAGE));
+    }
+
     @GetMapping("/{id}")
     public UserDto getUserById(@PathVariable("id") Long id) {
         return userService.getUserById(id);
@@ -37,17 +52,17 @@ public class UserController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public UserDto create(@RequestBody UserDto userDto) {
-        log.info("==> Creating user: {}", userDto);
+        log.debug("==> Creating user: {}", userDto);
         UserDto user = userService.create(userDto);
-        log.info("<== Creating user: {}", user);
+        log.debug("<== Creating user: {}", user);
         return user;
     }
 
     @PatchMapping("/{id}")
     public UserDto update(@PathVariable("id") Long id, @RequestBody UserDto newUserDto) {
-        log.info("==> Updating user: {}", newUserDto);
+        log.debug("==> Updating user: {}", newUserDto);
         UserDto user = userService.update(id, newUserDto);
-        log.info("<== Updating user: {}", user);
+        log.debug("<== Updating user: {}", user);
         return user;
     }
 
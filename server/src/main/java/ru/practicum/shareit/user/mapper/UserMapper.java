@@ -12,7 +12,7 @@ public interface UserMapper {
     @Named("toUserDto")
     UserDto toUserDto(User user);
 
-    @Mapping(target = "id", source = "id")
+    @Mapping(target = "id", ignore = true)
     User dtoToUser(UserDto userDto);
 
 }
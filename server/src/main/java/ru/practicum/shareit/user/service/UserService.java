@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface UserService {
     UserDto create(UserDto userDto);
@@ -14,4 +15,6 @@ public interface UserService {
     UserDto getUserById(long id);
 
     Collection<UserDto> findAll();
+
+    List<Long> findIdsAfter(long after, int limit);
 }
@@ -4,6 +4,7 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ConflictException;
@@ -15,6 +16,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 
 import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -76,6 +78,11 @@ public class UserServiceImpl implements UserService {
                 .toList();
     }
 
+    @Override
+    public List<Long> findIdsAfter(long after, int limit) {
+        return userRepository.findIdsAfter(after, Limit.of(limit));
+    }
+
     private void validateId(Long id) {
         if (!userRepository.existsById(id)) {
             log.error("Указан несуществующий пользователь с id: {}", id);
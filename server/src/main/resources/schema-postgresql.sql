@@ -0,0 +1,16 @@
+-- Полнотекстовый поиск вещей: вектор поддерживается самой БД, название (вес A) важнее описания (вес B)
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector
+GENERATED ALWAYS AS (
+setweight(to_tsvector('russian', coalesce(name, '')), 'A')
+|| setweight(to_tsvector('russian', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS items_search_vector_idx ON items USING GIN (search_vector);
+
+-- Поиск подстроки (LIKE '%text%' в ItemRepository.findItemsByText) по триграммам: индексы выражений
+-- совпадают с LOWER(поле) в запросе. pg_trgm - доверенное расширение, его может подключить владелец БД
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING GIN (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING GIN (lower(description) gin_trgm_ops);
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.search.IndexedItem;
+import ru.practicum.shareit.item.search.ItemTextIndex;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск вещей индексом в памяти ({@link ItemTextIndex}) против запроса {@code findItemsByText} (LIKE) к H2
+ * в памяти на одних и тех же данных. H2 здесь нижняя граница для SQL: нет сети и пула соединений,
+ * с PostgreSQL разница больше. Запросы: редкий фрагмент, частое слово и короткая строка (перебор в обоих).
+ * Запуск: {@code mvn -pl server -Pbenchmark test-compile exec:exec -Dbenchmark=ItemSearch}
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSearchBenchmark {
+    private static final String[] WORDS = {"дрель", "перфоратор", "отвёртка", "аккумулятор", "пила", "лестница",
+            "палатка", "насос", "велосипед", "самокат", "проектор", "колонка", "гитара", "удочка", "мангал"};
+    private static final String[] ADJECTIVES = {"ударная", "мощный", "складная", "походный", "новый", "старая",
+            "большой", "лёгкий", "электрический", "ручной"};
+
+    @Param({"100000"})
+    private int items;
+
+    @Param({"велосипед", "ручной", "ла"})
+    private String query;
+
+    private ItemTextIndex index;
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(255), description VARCHAR(512),"
+                    + " is_available BOOLEAN)");
+        }
+        index = new ItemTextIndex();
+        Random random = new Random(1);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO items VALUES (?, ?, ?, ?)")) {
+            for (long id = 1; id <= items; id++) {
+                String name = pick(random, ADJECTIVES) + " " + pick(random, WORDS);
+                String description = pick(random, WORDS) + " " + pick(random, ADJECTIVES) + " " + random.nextInt(1000);
+                boolean available = random.nextInt(4) > 0;
+                index.put(new IndexedItem(id, name, description, available, null));
+                insert.setLong(1, id);
+                insert.setString(2, name);
+                insert.setString(3, description);
+                insert.setBoolean(4, available);
+                insert.addBatch();
+                if (id % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        statement = connection.prepareStatement("""
+                SELECT id, name, description, is_available FROM items
+                WHERE is_available = true
+                AND (LOWER(name) LIKE LOWER(CONCAT('%', ?, '%'))
+                OR LOWER(description) LIKE LOWER(CONCAT('%', ?, '%')))
+                ORDER BY id
+                """);
+        log.info("{}: {} matches", query, index.search(query).size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<IndexedItem> memoryIndex() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public List<IndexedItem> sqlLike() throws SQLException {
+        statement.setString(1, query);
+        statement.setString(2, query);
+        List<IndexedItem> result = new ArrayList<>();
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                result.add(new IndexedItem(rows.getLong(1), rows.getString(2), rows.getString(3),
+                        rows.getBoolean(4), null));
+            }
+        }
+        return result;
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemBookingsDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение JSON и Smile на списках DTO сервера: размер ответа, кодирование на сервере,
+ * декодирование в DTO и потоковое перекодирование Smile в JSON, которое выполняет шлюз.
+ * Размеры ответов печатаются при подготовке каждого набора параметров.
+ * Запуск: {@code mvn -pl server -Pbenchmark test-compile exec:exec -Dbenchmark=WireFormat}
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param({"itemBookings", "bookings"})
+    private String payload;
+
+    @Param({"200"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private JsonFactory jsonFactory;
+    private List<?> dtos;
+    private JavaType type;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .factory("smile".equals(format) ? new SmileFactory() : new JsonFactory())
+                .build();
+        jsonFactory = new JsonFactory();
+        if ("itemBookings".equals(payload)) {
+            dtos = itemBookings(size);
+            type = mapper.getTypeFactory().constructCollectionType(List.class, ItemBookingsDto.class);
+        } else {
+            dtos = bookings(size);
+            type = mapper.getTypeFactory().constructCollectionType(List.class, BookingDto.class);
+        }
+        encoded = mapper.writeValueAsBytes(dtos);
+        log.info("{}/{} x {}: {} bytes", format, payload, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return mapper.readValue(encoded, type);
+    }
+
+    // Работа шлюза над ответом: для JSON - копирование байтов, для Smile - перекодирование в JSON
+    @Benchmark
+    public byte[] toGatewayJson() throws IOException {
+        if (!"smile".equals(format)) {
+            return encoded.clone();
+        }
+        ByteArrayOutputStream json = new ByteArrayOutputStream(encoded.length * 2);
+        try (JsonParser parser = mapper.getFactory().createParser(encoded);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return json.toByteArray();
+    }
+
+    static List<ItemBookingsDto> itemBookings(int size) {
+        LocalDateTime now = LocalDateTime.of(2024, 8, 1, 12, 0);
+        List<ItemBookingsDto> items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            List<BookingDateDto> bookings = new ArrayList<>();
+            for (long b = 0; b < 5; b++) {
+                bookings.add(new BookingDateDto(id * 10 + b, now.plusDays(b * 3), now.plusDays(b * 3 + 2)));
+            }
+            items.add(new ItemBookingsDto(id, "Дрель " + id, "Мощная дрель с аккумулятором и кейсом", true,
+                    bookings));
+        }
+        return items;
+    }
+
+    static List<BookingDto> bookings(int size) {
+        LocalDateTime now = LocalDateTime.of(2024, 8, 1, 12, 0);
+        List<BookingDto> bookings = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            BookingDto booking = new BookingDto();
+            booking.setId(id);
+            booking.setItemId(id % 20);
+            booking.setItem(new ItemDto(id % 20, "Дрель " + id % 20, "Мощная дрель с аккумулятором", true, null));
+            booking.setBooker(new UserDto(id % 7, "Пользователь " + id % 7, "user" + id % 7 + "@mail.ru"));
+            booking.setStart(now.minusDays(id));
+            booking.setEnd(now.minusDays(id).plusHours(5));
+            booking.setStatus(BookingStatus.APPROVED);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
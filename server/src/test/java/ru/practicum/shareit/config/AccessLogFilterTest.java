@@ -0,0 +1,65 @@
+package ru.practicum.shareit.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogFilterTest {
+    private final Logger access = (Logger) LoggerFactory.getLogger("access");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final AccessLogFilter filter = new AccessLogFilter(unsampled());
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        access.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        access.detachAppender(appender);
+    }
+
+    private static AccessLogProperties unsampled() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSampleRate(0);
+        return properties;
+    }
+
+    private static MockHttpServletRequest request(String budget) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/owner");
+        request.addHeader(DeadlineFilter.TIMEOUT_HEADER, budget);
+        request.addHeader("X-Sharer-User-Id", "7");
+        return request;
+    }
+
+    @Test
+    void testRequestOverGatewayBudgetIsLogged() throws Exception {
+        filter.doFilter(request("1"), new MockHttpServletResponse(), (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/bookings/owner");
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        filter.doFilter(request("5000"), new MockHttpServletResponse(), (request, response) ->
+                ((HttpServletResponse) response).setStatus(200));
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.getFirst().getFormattedMessage())
+                .contains("\"route\":\"/bookings/owner\"", "\"budgetMs\":1", "\"userId\":\"7\"",
+                        "\"reason\":\"over-budget\"")
+                .doesNotContain("\"body\"");
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeadlineFilterTest {
+    private final DeadlineFilter filter = new DeadlineFilter(new ObjectMapper());
+    private final DeadlineAwareJpaTransactionManager transactionManager = new DeadlineAwareJpaTransactionManager();
+
+    private static MockHttpServletRequest request(String timeout) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/owner");
+        request.addHeader(DeadlineFilter.TIMEOUT_HEADER, timeout);
+        return request;
+    }
+
+    @Test
+    void testTransactionTimeoutLimitedByDeadline() throws Exception {
+        AtomicInteger timeout = new AtomicInteger();
+        AtomicInteger explicitTimeout = new AtomicInteger();
+        DefaultTransactionDefinition explicit = new DefaultTransactionDefinition();
+        explicit.setTimeout(1);
+
+        filter.doFilter(request("2500"), new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                timeout.set(transactionManager.determineTimeout(new DefaultTransactionDefinition()));
+                explicitTimeout.set(transactionManager.determineTimeout(explicit));
+            }
+        });
+
+        assertThat(timeout.get()).isEqualTo(3);
+        assertThat(explicitTimeout.get()).isEqualTo(1);
+        assertThat(RequestDeadline.isSet()).isFalse();
+        assertThat(transactionManager.determineTimeout(new DefaultTransactionDefinition())).isEqualTo(-1);
+    }
+
+    @Test
+    void testExpiredDeadlineRejectedBeforeProcessing() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("0"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(504);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void testNoNewTransactionAfterDeadline() {
+        RequestDeadline.start(1);
+        try {
+            Thread.sleep(5);
+            assertThrows(DeadlineExceededException.class,
+                    () -> transactionManager.determineTimeout(new DefaultTransactionDefinition()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
@@ -13,6 +13,9 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemInfoDto;
+import ru.practicum.shareit.item.dto.ItemSearchPage;
+import ru.practicum.shareit.item.dto.RankedItemDto;
+import ru.practicum.shareit.item.dto.RankedSearchResult;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.time.LocalDateTime;
@@ -21,6 +24,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -31,6 +35,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -255,7 +260,7 @@ class ItemControllerTest {
         );
 
         // Настройка мока для сервисного слоя
-        when(itemService.searchItems(searchText)).thenReturn(mockItems);
+        when(itemService.searchItems(searchText, null, 100)).thenReturn(new ItemSearchPage(mockItems, null));
 
         // Отправка GET-запроса
         mockMvc.perform(get("/items/search")
@@ -269,7 +274,7 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[1].name").value("Ultrabook"));
 
         // Проверка вызова метода в сервисе
-        verify(itemService, times(1)).searchItems(searchText);
+        verify(itemService, times(1)).searchItems(searchText, null, 100);
     }
 
     @Test
@@ -284,7 +289,7 @@ class ItemControllerTest {
                 .andExpect(content().string("[]"));
 
         // Проверка, что сервис не был вызван
-        verify(itemService, never()).searchItems(anyString());
+        verify(itemService, never()).searchItems(anyString(), any(), anyInt());
     }
 
     @Test
@@ -292,7 +297,8 @@ class ItemControllerTest {
         String searchText = "nonexistent";
 
         // Настройка мока для пустого ответа
-        when(itemService.searchItems(searchText)).thenReturn(Collections.emptyList());
+        when(itemService.searchItems(searchText, null, 100))
+                .thenReturn(new ItemSearchPage(Collections.emptyList(), null));
 
         // Отправка GET-запроса
         mockMvc.perform(get("/items/search")
@@ -302,7 +308,48 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
 
         // Проверка вызова метода в сервисе
-        verify(itemService, times(1)).searchItems(searchText);
+        verify(itemService, times(1)).searchItems(searchText, null, 100);
+    }
+
+    @Test
+    void testSearchItems_LimitCappedAndNextCursorInHeader() throws Exception {
+        when(itemService.searchItems("laptop", "abc", 500))
+                .thenReturn(new ItemSearchPage(List.of(new ItemDto(3L, "Laptop", "Gaming", true, null)), "def"));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "laptop")
+                        .param("limit", "100000")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemController.NEXT_CURSOR_HEADER, "def"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "laptop")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchItems_RankedReturnsScores() throws Exception {
+        when(itemService.searchItemsRanked("laptop", 5)).thenReturn(new RankedSearchResult(
+                List.of(new RankedItemDto(new ItemDto(3L, "Laptop", "Gaming", true, null), 4.5)), true));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "laptop")
+                        .param("limit", "5")
+                        .param("ranked", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(header().string(ItemController.TRUNCATED_HEADER, "true"))
+                .andExpect(jsonPath("$[0].score").value(4.5));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "laptop")
+                        .param("ranked", "true")
+                        .param("cursor", "abc"))
+                .andExpect(status().isBadRequest());
+        verify(itemService, never()).searchItems(anyString(), any(), anyInt());
     }
 
     @Test
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryItemSearchTest {
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final InMemoryItemSearch search = new InMemoryItemSearch(itemRepository, new InMemorySearchProperties());
+
+    @Test
+    void testItemChangedDuringBuildIsRereadInsteadOfReplayed() {
+        IndexedItem stale = new IndexedItem(1L, "Дрель", "старая версия", true, null);
+        IndexedItem current = new IndexedItem(1L, "Дрель", "новая версия", true, null);
+        // Событие первой версии обработано во время построения, а построение уже прочитало вторую
+        when(itemRepository.findIndexedItemsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            search.onItemChanged(new ItemChangedEvent(stale));
+            return List.of(current);
+        });
+        when(itemRepository.findIndexedItemsByIdIn(List.of(1L))).thenReturn(List.of(current));
+
+        search.rebuild();
+
+        assertThat(search.search("старая", SearchCursor.START, 10)).isEmpty();
+        assertThat(search.search("новая", SearchCursor.START, 10)).extracting(hit -> hit.item().getId())
+                .containsExactly(1L);
+
+        search.onItemChanged(new ItemChangedEvent(new IndexedItem(1L, "Дрель", "третья версия", true, null)));
+        assertThat(search.search("третья", SearchCursor.START, 10)).hasSize(1);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemRankerTest {
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+
+    @Test
+    void testTopKEqualsFullSortOfScoredCandidates() {
+        Random random = new Random(7);
+        String[] names = {"Дрель", "Дрель ударная", "Дрелька", "Перфоратор", "Шуруповёрт"};
+        String[] descriptions = {"Мощная дрель", "Для дрели", "Аккумуляторная", "Сверлит как дрель", ""};
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            items.add(new Item(id, names[random.nextInt(names.length)],
+                    descriptions[random.nextInt(descriptions.length)], true, null, null));
+        }
+        when(bookingRepository.countByItemIds(any(), any())).thenReturn(List.of());
+        ItemRankingProperties properties = new ItemRankingProperties();
+        properties.setCandidatePageSize(64);
+        ItemRanker ranker = new ItemRanker(byId(items), bookingRepository, properties);
+
+        RankedHits top = ranker.topK("дрел", 20);
+
+        List<SearchHit> expected = items.stream()
+                .filter(item -> (item.getName() + " " + item.getDescription()).toLowerCase().contains("дрел"))
+                .map(item -> new SearchHit(item, ranker.score("дрел", IndexedItem.of(item), 0)))
+                .sorted(ItemRanker.BEST_FIRST)
+                .limit(20)
+                .toList();
+        assertThat(top.hits()).isEqualTo(expected);
+        assertThat(top.truncated()).isFalse();
+    }
+
+    @Test
+    void testNameAndExactWordRankAboveDescriptionAndSubstring() {
+        List<Item> items = List.of(
+                new Item(1L, "Перфоратор", "Лучше, чем дрелька", true, null, null),
+                new Item(2L, "Дрелька", "Детская", true, null, null),
+                new Item(3L, "Дрель", "Ударная", true, null, null),
+                new Item(4L, "Мини-дрель", "Для моделей", true, null, null));
+        when(bookingRepository.countByItemIds(any(), any())).thenReturn(List.of());
+        ItemRanker ranker = new ItemRanker(byId(items), bookingRepository, new ItemRankingProperties());
+
+        assertThat(ranker.topK("дрель", 10).hits()).extracting(hit -> hit.item().getId())
+                .containsExactly(3L, 4L, 2L, 1L);
+        assertThat(ranker.topK("дрель", 2).hits()).extracting(SearchHit::rank).containsExactly(4.0, 4.0);
+    }
+
+    @Test
+    void testCandidatesBeyondMaxAreReportedAsTruncated() {
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            items.add(new Item(id, id == 10 ? "Дрель" : "Дрелька", "", true, null, null));
+        }
+        when(bookingRepository.countByItemIds(any(), any())).thenReturn(List.of());
+        ItemRankingProperties properties = new ItemRankingProperties();
+        properties.setCandidatePageSize(3);
+        properties.setMaxCandidates(9);
+        ItemRanker ranker = new ItemRanker(byId(items), bookingRepository, properties);
+
+        RankedHits truncated = ranker.topK("дрель", 1);
+        properties.setMaxCandidates(10);
+        RankedHits complete = ranker.topK("дрель", 1);
+
+        assertThat(truncated.truncated()).isTrue();
+        assertThat(truncated.hits()).extracting(hit -> hit.item().getId()).containsExactly(1L);
+        assertThat(complete.truncated()).isFalse();
+        assertThat(complete.hits()).extracting(hit -> hit.item().getId()).containsExactly(10L);
+    }
+
+    // Поиск подстроки по списку в порядке id, как LikeItemSearch
+    private static ItemSearch byId(List<Item> items) {
+        return (text, after, limit) -> items.stream()
+                .filter(item -> item.getId() > after.id())
+                .filter(item -> (item.getName() + " " + item.getDescription()).toLowerCase()
+                        .contains(text.toLowerCase()))
+                .sorted(Comparator.comparing(Item::getId))
+                .limit(limit)
+                .map(item -> new SearchHit(item, 0))
+                .toList();
+    }
+}
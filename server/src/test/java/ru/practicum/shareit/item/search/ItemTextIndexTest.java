@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemTextIndexTest {
+    private static final String ALPHABET = "абвгдрелaeo ";
+
+    @Test
+    void testSearchMatchesSubstringScanOnRandomItems() {
+        Random random = new Random(42);
+        ItemTextIndex index = new ItemTextIndex();
+        List<IndexedItem> items = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            IndexedItem item = new IndexedItem(id, text(random, 12), text(random, 40), random.nextInt(4) > 0, null);
+            items.add(item);
+            index.put(item);
+        }
+
+        for (int i = 0; i < 300; i++) {
+            String query = text(random, 1 + random.nextInt(5));
+            if (random.nextBoolean()) {
+                query = query.toUpperCase(Locale.ROOT);
+            }
+            String lower = query.toLowerCase(Locale.ROOT);
+            List<IndexedItem> expected = items.stream()
+                    .filter(IndexedItem::available)
+                    .filter(item -> item.name().toLowerCase(Locale.ROOT).contains(lower)
+                            || item.description().toLowerCase(Locale.ROOT).contains(lower))
+                    .toList();
+            assertThat(index.search(query)).as(query).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testUpdateReplacesPreviousVersion() {
+        ItemTextIndex index = new ItemTextIndex();
+        index.put(new IndexedItem(1L, "Дрель", "Ударная дрель", true, null));
+        index.put(new IndexedItem(2L, "Отвёртка", "Аккумуляторная", true, 7L));
+
+        index.put(new IndexedItem(1L, "Перфоратор", "Мощный", true, null));
+        index.put(new IndexedItem(2L, "Отвёртка", "Аккумуляторная", false, 7L));
+
+        assertThat(index.search("дрел")).isEmpty();
+        assertThat(index.search("ПЕРФ")).extracting(IndexedItem::id).containsExactly(1L);
+        assertThat(index.search("аккум")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.maxItemId()).isEqualTo(2);
+    }
+
+    @Test
+    void testCompactionKeepsLiveItemsSearchable() {
+        ItemTextIndex index = new ItemTextIndex();
+        for (int version = 0; version < 50; version++) {
+            for (long id = 1; id <= 10; id++) {
+                index.put(new IndexedItem(id, "Вещь " + id, "версия " + version, true, null));
+            }
+        }
+
+        assertThat(index.search("версия 49")).hasSize(10);
+        assertThat(index.search("версия 48")).isEmpty();
+        assertThat(index.search("вещь 1")).extracting(IndexedItem::id).containsExactly(1L, 10L);
+    }
+
+    @Test
+    void testSearchPageAfterId() {
+        ItemTextIndex index = new ItemTextIndex();
+        for (long id = 10; id >= 1; id--) {
+            index.put(new IndexedItem(id, "Дрель " + id, "", id != 4, null));
+        }
+
+        assertThat(index.search("дрель", 0, 3)).extracting(IndexedItem::id).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("дрель", 3, 3)).extracting(IndexedItem::id).containsExactly(5L, 6L, 7L);
+        assertThat(index.search("дрель", 9, 3)).extracting(IndexedItem::id).containsExactly(10L);
+    }
+
+    @Test
+    void testLikeWildcardsAndEscapes() {
+        ItemTextIndex index = new ItemTextIndex();
+        index.put(new IndexedItem(1L, "Скидка 50%", "Насос", true, null));
+        index.put(new IndexedItem(2L, "Скидка 500", "Насос", true, null));
+        index.put(new IndexedItem(3L, "Лодка", "Надувная, с насосом", true, null));
+
+        assertThat(index.search("50\\%")).extracting(IndexedItem::id).containsExactly(1L);
+        assertThat(index.search("скидка 50_")).extracting(IndexedItem::id).containsExactly(1L, 2L);
+        assertThat(index.search("над%насос")).extracting(IndexedItem::id).containsExactly(3L);
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,6 +19,8 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemInfoDto;
+import ru.practicum.shareit.item.dto.ItemSearchPage;
+import ru.practicum.shareit.item.dto.RankedItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
@@ -382,12 +385,62 @@ class ItemServiceImplTest {
         item3.setOwner(user);
         itemRepository.save(item3);
 
-        Collection<ItemDto> result = itemService.searchItems("Laptop");
+        Collection<ItemDto> result = itemService.searchItems("Laptop", null, 10).items();
 
         assertThat(result).hasSize(1);
         assertThat(result).extracting(ItemDto::getName).containsExactly("Laptop");
     }
 
+    @Test
+    void testFindItemsByText_UnavailableExcludedInQuery() {
+        User user = userRepository.save(new User(null, "Test User", "test@example.com"));
+        itemRepository.save(new Item(null, "Laptop", "Gaming", false, user, null));
+        itemRepository.save(new Item(null, "Bag", "For laptop", false, user, null));
+        itemRepository.save(new Item(null, "Mouse", "Laptop mouse", true, user, null));
+
+        List<Item> result = itemRepository.findItemsByText("LAPTOP", 0, Limit.unlimited());
+
+        assertThat(result).extracting(Item::getName).containsExactly("Mouse");
+    }
+
+    @Test
+    void testSearchItems_PagesFollowCursor() {
+        User user = userRepository.save(new User(null, "Test User", "test@example.com"));
+        for (int i = 1; i <= 5; i++) {
+            itemRepository.save(new Item(null, "Laptop " + i, "Gaming", true, user, null));
+        }
+
+        ItemSearchPage first = itemService.searchItems("laptop", null, 2);
+        ItemSearchPage second = itemService.searchItems("laptop", first.nextCursor(), 2);
+        ItemSearchPage last = itemService.searchItems("laptop", second.nextCursor(), 2);
+
+        assertThat(first.items()).extracting(ItemDto::getName).containsExactly("Laptop 1", "Laptop 2");
+        assertThat(second.items()).extracting(ItemDto::getName).containsExactly("Laptop 3", "Laptop 4");
+        assertThat(last.items()).extracting(ItemDto::getName).containsExactly("Laptop 5");
+        assertThat(last.nextCursor()).isNull();
+        assertThatThrownBy(() -> itemService.searchItems("laptop", "not a cursor", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSearchItemsRanked_PopularItemFirstAmongEqualMatches() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        User booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+        Item quiet = itemRepository.save(new Item(null, "Laptop", "Gaming", true, owner, null));
+        Item popular = itemRepository.save(new Item(null, "Laptop", "Office", true, owner, null));
+        itemRepository.save(new Item(null, "Bag", "For laptop", true, owner, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (BookingStatus status : List.of(BookingStatus.APPROVED, BookingStatus.WAITING, BookingStatus.REJECTED)) {
+            bookingRepository.save(new Booking(null, start, start.plusDays(1), popular, booker, status));
+        }
+
+        List<RankedItemDto> result = itemService.searchItemsRanked("laptop", 2).items();
+
+        assertThat(result).extracting(ItemDto::getId).containsExactly(popular.getId(), quiet.getId());
+        assertThat(result.get(0).getScore()).isEqualTo(4 + Math.log1p(2));
+        assertThat(result.get(1).getScore()).isEqualTo(4);
+    }
+
     @Test
     void testSearchItems_NoMatches() {
         // Создаем пользователя
@@ -411,7 +464,7 @@ class ItemServiceImplTest {
         item2.setOwner(user);
         itemRepository.save(item2);
 
-        Collection<ItemDto> result = itemService.searchItems("Laptop");
+        Collection<ItemDto> result = itemService.searchItems("Laptop", null, 10).items();
 
         assertThat(result).isEmpty();
     }
@@ -439,7 +492,7 @@ class ItemServiceImplTest {
         item2.setOwner(user);
         itemRepository.save(item2);
 
-        Collection<ItemDto> result = itemService.searchItems("");
+        Collection<ItemDto> result = itemService.searchItems("", null, 10).items();
 
         assertThat(result).isEmpty();
     }
@@ -222,4 +222,15 @@ class UserControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFindIds_LimitIsCapped() throws Exception {
+        when(userService.findIdsAfter(5L, 10_000)).thenReturn(List.of(6L, 9L));
+
+        mockMvc.perform(get("/users/ids")
+                        .param("after", "5")
+                        .param("limit", "1000000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1]").value(9));
+    }
+}
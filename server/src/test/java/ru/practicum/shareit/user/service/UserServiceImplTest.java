@@ -17,6 +17,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -176,4 +177,13 @@ class UserServiceImplTest {
         assertThat(users).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFindIdsAfter_PagesInIdOrder() {
+        Long first = userRepository.save(new User(null, "John Doe", "john.doe@example.com")).getId();
+        Long second = userRepository.save(new User(null, "Jane Smith", "jane.smith@example.com")).getId();
+        Long third = userRepository.save(new User(null, "Jim Beam", "jim.beam@example.com")).getId();
+
+        assertThat(userService.findIdsAfter(0, 2)).containsExactly(first, second);
+        assertThat(userService.findIdsAfter(second, 2)).containsExactly(third);
+    }
+}
@@ -0,0 +1,90 @@
+-- Поиск подстроки по 10 млн вещей: последовательное чтение против триграммных индексов из schema-postgresql.sql.
+-- Запуск в любой БД PostgreSQL, в том числе в рабочей shareit: данные создаются в отдельной схеме trgm_bench,
+-- которая удаляется в конце, таблицы приложения не затрагиваются:
+--   psql -d shareit -f server/src/test/sql/trigram-search-benchmark.sql
+-- Генерация данных и построение индексов занимают несколько минут. Каждый запрос выполняется дважды,
+-- смотреть стоит на второй прогон (данные уже в кэше).
+
+\timing on
+SET client_min_messages = warning;
+
+DROP SCHEMA IF EXISTS trgm_bench CASCADE;
+CREATE SCHEMA trgm_bench;
+SET search_path = trgm_bench, public;
+CREATE EXTENSION IF NOT EXISTS pg_trgm SCHEMA public;
+
+CREATE TABLE items (
+id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+name VARCHAR(255) NOT NULL,
+description VARCHAR(255),
+available BOOLEAN
+);
+
+-- Название - прилагательное и предмет, описание - предмет, прилагательное и номер модели
+INSERT INTO items (name, description, available)
+SELECT a.word || ' ' || w.word,
+       w2.word || ' ' || a2.word || ' модель ' || (g % 100000),
+       g % 4 <> 0
+FROM generate_series(1, 10000000) AS g
+JOIN LATERAL (SELECT (ARRAY['дрель', 'перфоратор', 'отвёртка', 'аккумулятор', 'пила', 'лестница', 'палатка',
+        'насос', 'велосипед', 'самокат', 'проектор', 'колонка', 'гитара', 'удочка', 'мангал'])[1 + (g * 7) % 15]
+        AS word) AS w ON true
+JOIN LATERAL (SELECT (ARRAY['дрель', 'перфоратор', 'отвёртка', 'аккумулятор', 'пила', 'лестница', 'палатка',
+        'насос', 'велосипед', 'самокат', 'проектор', 'колонка', 'гитара', 'удочка', 'мангал'])[1 + (g * 13) % 15]
+        AS word) AS w2 ON true
+JOIN LATERAL (SELECT (ARRAY['ударная', 'мощный', 'складная', 'походный', 'новый', 'старая', 'большой', 'лёгкий',
+        'электрический', 'ручной'])[1 + (g * 3) % 10] AS word) AS a ON true
+JOIN LATERAL (SELECT (ARRAY['ударная', 'мощный', 'складная', 'походный', 'новый', 'старая', 'большой', 'лёгкий',
+        'электрический', 'ручной'])[1 + (g * 11) % 10] AS word) AS a2 ON true;
+
+VACUUM ANALYZE items;
+
+-- Запрос findItemsByText в том виде, в котором его выполняет Hibernate: первая страница из 101 вещи
+-- (limit по умолчанию и одна лишняя для проверки следующей страницы)
+PREPARE by_text(text, bigint, int) AS
+SELECT * FROM items AS i
+WHERE i.available = true
+AND (lower(i.name) LIKE lower('%' || $1 || '%') OR lower(i.description) LIKE lower('%' || $1 || '%'))
+AND i.id > $2
+ORDER BY i.id
+LIMIT $3;
+
+\echo '=== Без индексов: последовательное чтение'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) EXECUTE by_text('модель 4242', 0, 101);
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) EXECUTE by_text('модель 4242', 0, 101);
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) EXECUTE by_text('аккум', 0, 101);
+
+CREATE INDEX items_name_trgm_idx ON items USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX items_description_trgm_idx ON items USING GIN (lower(description) gin_trgm_ops);
+ANALYZE items;
+DEALLOCATE by_text;
+PREPARE by_text(text, bigint, int) AS
+SELECT * FROM items AS i
+WHERE i.available = true
+AND (lower(i.name) LIKE lower('%' || $1 || '%') OR lower(i.description) LIKE lower('%' || $1 || '%'))
+AND i.id > $2
+ORDER BY i.id
+LIMIT $3;
+
+\echo '=== С триграммными индексами: редкий фрагмент (около тысячи строк)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) EXECUTE by_text('модель 4242', 0, 101);
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) EXECUTE by_text('модель 4242', 0, 101);
+
+\echo '=== С триграммными индексами: частый фрагмент (миллионы строк), первая и далёкая страница'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) EXECUTE by_text('аккум', 0, 101);
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) EXECUTE by_text('аккум', 9000000, 101);
+
+\echo '=== findItemsBySimilarity: ранжирование по word_similarity'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM items AS i
+WHERE i.available = true
+AND (lower(i.name) LIKE lower('%' || 'модель 4242' || '%')
+OR lower(i.description) LIKE lower('%' || 'модель 4242' || '%'))
+ORDER BY GREATEST(2 * word_similarity(lower('модель 4242'), lower(i.name)),
+word_similarity(lower('модель 4242'), lower(coalesce(i.description, '')))) DESC, i.id;
+
+SELECT pg_size_pretty(pg_relation_size('items')) AS table_size,
+       pg_size_pretty(pg_relation_size('items_name_trgm_idx')) AS name_index_size,
+       pg_size_pretty(pg_relation_size('items_description_trgm_idx')) AS description_index_size;
+
+DROP SCHEMA trgm_bench CASCADE;